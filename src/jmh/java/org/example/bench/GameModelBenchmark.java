@@ -0,0 +1,109 @@
+package org.example.bench;
+
+import org.example.model.GameModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameModel 규칙 API 마이크로 벤치마크
+ * 고정 시드로 만든 중반 국면(20수 진행)에서 측정합니다.
+ * 할당량은 -prof gc 옵션으로 함께 확인합니다. (List 기반 API와 마스크/배열 기반 API 비교)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameModelBenchmark {
+
+    private static final int OPENING_PLIES = 20;
+
+    private GameModel model;
+    private int player;
+    private int moveX;
+    private int moveY;
+    private int moveSquare;
+    private final int[] squares = new int[64];
+
+    @Setup
+    public void setUp() {
+        model = new GameModel();
+        Random random = new Random(20240101L);
+        for (int ply = 0; ply < OPENING_PLIES; ply++) {
+            long moves = model.getValidMoveMask();
+            if (moves == 0L) {
+                model.makeMove(GameModel.PASS);
+                continue;
+            }
+            int skip = random.nextInt(Long.bitCount(moves));
+            for (int i = 0; i < skip; i++) {
+                moves &= moves - 1;
+            }
+            model.makeMove(Long.numberOfTrailingZeros(moves));
+        }
+        player = model.getCurrentTurn();
+        moveSquare = Long.numberOfTrailingZeros(model.getValidMoveMask());
+        moveX = moveSquare & 7;
+        moveY = moveSquare >>> 3;
+    }
+
+    @Benchmark
+    public List<int[]> getValidMoves() {
+        return model.getValidMoves();
+    }
+
+    @Benchmark
+    public long getValidMoveMask() {
+        return model.getValidMoveMask();
+    }
+
+    @Benchmark
+    public int getValidMovesIntoArray() {
+        return model.getValidMoves(squares);
+    }
+
+    @Benchmark
+    public List<int[]> getPiecesToFlip() {
+        return model.getPiecesToFlip(moveX, moveY, player);
+    }
+
+    @Benchmark
+    public long getFlipMask() {
+        return model.getFlipMask(moveX, moveY, player);
+    }
+
+    /**
+     * placePieceAndFlip 은 상태를 바꾸므로 unmakeMove 와 한 쌍으로 측정
+     */
+    @Benchmark
+    public boolean placePieceAndFlip() {
+        boolean placed = model.placePieceAndFlip(moveX, moveY);
+        model.unmakeMove();
+        return placed;
+    }
+
+    @Benchmark
+    public boolean makeUnmakeMove() {
+        boolean placed = model.makeMove(moveSquare);
+        model.unmakeMove();
+        return placed;
+    }
+
+    @Benchmark
+    public int getScore() {
+        return model.getScore(1) - model.getScore(2);
+    }
+}
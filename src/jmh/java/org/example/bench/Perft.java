@@ -0,0 +1,91 @@
+package org.example.bench;
+
+import org.example.model.Bitboard;
+import org.example.model.GameModel;
+
+/**
+ * perft(n) 검증 도구
+ * 초기 국면에서 n수 뒤에 도달하는 리프 국면 수를 세어 알려진 값과 비교합니다.
+ * 패스도 한 수로 세며, 두 플레이어 모두 둘 곳이 없으면 그 국면은 깊이와 관계없이 리프입니다.
+ * 비트보드(Bitboard)와 GameModel.makeMove/unmakeMove 두 구현을 모두 검증하고 초당 노드 수를 출력합니다.
+ *
+ * 사용법: Perft [최대 깊이 (기본 9, 최대 11)]
+ */
+public final class Perft {
+
+    // 알려진 오셀로 perft 값 (인덱스 = 깊이)
+    static final long[] KNOWN = {
+        1L, 4L, 12L, 56L, 244L, 1396L, 8200L, 55092L, 390216L, 3005288L, 24571284L, 212258800L
+    };
+
+    private Perft() {}
+
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+        maxDepth = Math.min(maxDepth, KNOWN.length - 1);
+
+        boolean ok = true;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long start = System.nanoTime();
+            long bitboardNodes = perft(Bitboard.INITIAL_BLACK, Bitboard.INITIAL_WHITE, depth, false);
+            long bitboardNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long modelNodes = perft(new GameModel(), depth);
+            long modelNanos = System.nanoTime() - start;
+
+            boolean match = bitboardNodes == KNOWN[depth] && modelNodes == KNOWN[depth];
+            ok &= match;
+            System.out.printf("perft(%2d) = %,15d  bitboard %,12.0f nodes/s  GameModel %,12.0f nodes/s  %s%n",
+                    depth, bitboardNodes,
+                    bitboardNodes * 1e9 / Math.max(1, bitboardNanos),
+                    modelNodes * 1e9 / Math.max(1, modelNanos),
+                    match ? "OK" : "불일치 (기대값 " + KNOWN[depth] + ", GameModel " + modelNodes + ")");
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 비트보드 perft
+     * @param passed 직전 수가 패스였는지 여부
+     */
+    public static long perft(long player, long opponent, int depth, boolean passed) {
+        if (depth == 0) return 1;
+        long moves = Bitboard.moves(player, opponent);
+        if (moves == 0L) {
+            if (passed) return 1; // 양쪽 모두 패스: 종국
+            return perft(opponent, player, depth - 1, true);
+        }
+        long nodes = 0;
+        for (long m = moves; m != 0; m &= m - 1) {
+            int sq = Long.numberOfTrailingZeros(m);
+            long flips = Bitboard.flips(player, opponent, sq);
+            nodes += perft(opponent & ~flips, player | flips | (1L << sq), depth - 1, false);
+        }
+        return nodes;
+    }
+
+    /**
+     * GameModel 의 makeMove/unmakeMove 로 같은 트리를 탐색 (증분 상태 갱신 검증용)
+     */
+    public static long perft(GameModel model, int depth) {
+        if (depth == 0) return 1;
+        long moves = model.getValidMoveMask();
+        if (moves == 0L) {
+            if (model.getConsecutivePasses() > 0) return 1;
+            model.makeMove(GameModel.PASS);
+            long nodes = perft(model, depth - 1);
+            model.unmakeMove();
+            return nodes;
+        }
+        long nodes = 0;
+        for (long m = moves; m != 0; m &= m - 1) {
+            model.makeMove(Long.numberOfTrailingZeros(m));
+            nodes += perft(model, depth - 1);
+            model.unmakeMove();
+        }
+        return nodes;
+    }
+}
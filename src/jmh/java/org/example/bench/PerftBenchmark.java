@@ -0,0 +1,76 @@
+package org.example.bench;
+
+import org.example.model.Bitboard;
+import org.example.model.GameModel;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * perft 처리량 벤치마크
+ * 결과의 nodes 항목이 초당 노드 수입니다. 매 호출마다 노드 수를 알려진 값과 비교하여 잘못된 수 생성기는 바로 실패합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PerftBenchmark {
+
+    @Param({"6", "8"})
+    public int depth;
+
+    private GameModel model;
+
+    /**
+     * 초당 노드 수 집계용 보조 카운터
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        model = new GameModel();
+    }
+
+    @Benchmark
+    public long bitboard(Nodes counter) {
+        long nodes = Perft.perft(Bitboard.INITIAL_BLACK, Bitboard.INITIAL_WHITE, depth, false);
+        return verify(nodes, counter);
+    }
+
+    @Benchmark
+    public long gameModel(Nodes counter) {
+        long nodes = Perft.perft(model, depth);
+        return verify(nodes, counter);
+    }
+
+    private long verify(long nodes, Nodes counter) {
+        if (nodes != Perft.KNOWN[depth]) {
+            throw new IllegalStateException("perft(" + depth + ") = " + nodes + ", 기대값 " + Perft.KNOWN[depth]);
+        }
+        counter.nodes += nodes;
+        return nodes;
+    }
+}
@@ -50,6 +50,14 @@ public class Main extends Application {
         menuView.show();
     }
 
+    @Override
+    public void stop() {
+        // AI 탐색 스레드 풀 정리
+        if (aiPlayer != null) {
+            aiPlayer.close();
+        }
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -35,6 +35,22 @@ public interface MinigameBase {
      */
     void updateFromJson(String json);
     
+    /**
+     * 현재 게임 상태를 압축된 바이트로 반환
+     * 바이너리 프로토콜에서 JSON 대신 보냅니다. 지원하지 않는 게임은 null 을 반환합니다.
+     * @return 압축된 게임 상태, 없으면 null
+     */
+    default byte[] getStateBytes() {
+        return null;
+    }
+    
+    /**
+     * getStateBytes() 로 만든 바이트로부터 게임 상태 업데이트
+     * @param state 압축된 게임 상태
+     */
+    default void updateFromBytes(byte[] state) {
+    }
+    
     /**
      * 게임 종료 여부 확인
      * @return 게임이 종료되었으면 true
@@ -18,7 +18,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.function.Consumer;
 
 /**
  * 기억력 카드 매칭 게임
@@ -45,10 +44,13 @@ public class MemoryGame implements MinigameBase {
 
     private Timeline gameTimer;
     private MinigameCallback callback;
-    private Consumer<String> updatePublisher;
+    private Runnable stateListener;
 
-    public void setUpdatePublisher(Consumer<String> publisher) {
-        this.updatePublisher = publisher;
+    /**
+     * 상태가 바뀔 때마다 호출할 리스너 (MinigameStateStreamer.markDirty, 상태는 스트리머가 전송 시점에 만듦)
+     */
+    public void setStateListener(Runnable listener) {
+        this.stateListener = listener;
     }
 
     @Override
@@ -295,16 +297,65 @@ public class MemoryGame implements MinigameBase {
 
     @Override
     public void updateFromJson(String json) {
-        applyingState = true;
-        pairsFound = parseInt(json, "pairsFound", pairsFound);
-        timeRemaining = parseInt(json, "timeRemaining", timeRemaining);
-        gameOver = parseBoolean(json, "gameOver", gameOver);
-        success = parseBoolean(json, "success", success);
-        gameStarted = parseBoolean(json, "started", gameStarted);
+        applyState(parseInt(json, "pairsFound", pairsFound),
+                parseInt(json, "timeRemaining", timeRemaining),
+                parseBoolean(json, "gameOver", gameOver),
+                parseBoolean(json, "success", success),
+                parseBoolean(json, "started", gameStarted),
+                parseIntArray(json, "values"),
+                parseBooleanArray(json, "flipped"),
+                parseBooleanArray(json, "matched"));
+    }
+
+    /**
+     * 압축 상태: [찾은 쌍][남은 시간][플래그 1=종료 2=성공 4=시작][카드 수 n][카드 값 n바이트][뒤집힘 비트][맞춤 비트]
+     */
+    @Override
+    public byte[] getStateBytes() {
+        int n = cards.size();
+        int maskBytes = (n + 7) / 8;
+        byte[] state = new byte[4 + n + 2 * maskBytes];
+        state[0] = (byte) pairsFound;
+        state[1] = (byte) Math.max(0, Math.min(255, timeRemaining));
+        state[2] = (byte) ((gameOver ? 1 : 0) | (success ? 2 : 0) | (gameStarted ? 4 : 0));
+        state[3] = (byte) n;
+        for (int i = 0; i < n; i++) {
+            Button card = cards.get(i);
+            state[4 + i] = (byte) getCardValue(card);
+            if (isFlipped(card)) state[4 + n + i / 8] |= (byte) (1 << (i & 7));
+            if (isMatched(card)) state[4 + n + maskBytes + i / 8] |= (byte) (1 << (i & 7));
+        }
+        return state;
+    }
+
+    @Override
+    public void updateFromBytes(byte[] state) {
+        if (state.length < 4) return;
+        int n = state[3] & 0xFF;
+        int maskBytes = (n + 7) / 8;
+        if (state.length < 4 + n + 2 * maskBytes) return;
+        int[] values = new int[n];
+        boolean[] flipped = new boolean[n];
+        boolean[] matched = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = state[4 + i] & 0xFF;
+            flipped[i] = (state[4 + n + i / 8] & (1 << (i & 7))) != 0;
+            matched[i] = (state[4 + n + maskBytes + i / 8] & (1 << (i & 7))) != 0;
+        }
+        int flags = state[2];
+        applyState(state[0] & 0xFF, state[1] & 0xFF,
+                (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0,
+                values, flipped, matched);
+    }
 
-        int[] values = parseIntArray(json, "values");
-        boolean[] flipped = parseBooleanArray(json, "flipped");
-        boolean[] matched = parseBooleanArray(json, "matched");
+    private void applyState(int pairsFound, int timeRemaining, boolean gameOver, boolean success, boolean started,
+                            int[] values, boolean[] flipped, boolean[] matched) {
+        applyingState = true;
+        this.pairsFound = pairsFound;
+        this.timeRemaining = timeRemaining;
+        this.gameOver = gameOver;
+        this.success = success;
+        this.gameStarted = started;
 
         for (int i = 0; i < cards.size(); i++) {
             Button card = cards.get(i);
@@ -354,8 +405,8 @@ public class MemoryGame implements MinigameBase {
     }
 
     private void broadcastState() {
-        if (updatePublisher != null && !applyingState && !isSpectator) {
-            updatePublisher.accept(getStateJson());
+        if (stateListener != null && !applyingState && !isSpectator) {
+            stateListener.run();
         }
     }
 
@@ -0,0 +1,62 @@
+package org.example.minigame.network;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 미니게임 압축 상태(MinigameBase.getStateBytes)의 델타 인코딩
+ * 키프레임(전체 상태)을 한 번 보낸 뒤에는 바뀐 바이트만 보냅니다.
+ * 형식: [상태 길이 2][위치 2][값 1][위치 2][값 1]... (big-endian)
+ * 카드 한 장을 뒤집으면 보통 1~2바이트만 바뀌므로 전체 상태 대신 5~8바이트를 보냅니다.
+ */
+public final class MinigameDelta {
+
+    public static final int HEADER_BYTES = 2;
+    private static final int ENTRY_BYTES = 3;
+
+    private MinigameDelta() {}
+
+    /**
+     * previous 를 current 로 바꾸는 델타 생성
+     * @return 델타 (바뀐 바이트가 없으면 머리말만 있음), 길이가 다르면 null (키프레임을 보내야 함)
+     */
+    public static byte[] diff(byte[] previous, byte[] current) {
+        if (previous == null || previous.length != current.length || current.length > 0xFFFF) return null;
+        int changed = 0;
+        for (int i = 0; i < current.length; i++) {
+            if (previous[i] != current[i]) changed++;
+        }
+        ByteBuffer delta = ByteBuffer.allocate(HEADER_BYTES + changed * ENTRY_BYTES);
+        delta.putShort((short) current.length);
+        for (int i = 0; i < current.length && delta.hasRemaining(); i++) {
+            if (previous[i] != current[i]) {
+                delta.putShort((short) i).put(current[i]);
+            }
+        }
+        return delta.array();
+    }
+
+    public static boolean isEmpty(byte[] delta) {
+        return delta.length <= HEADER_BYTES;
+    }
+
+    /**
+     * 델타를 상태에 그 자리에서 적용
+     * @param delta position 부터 limit 까지가 델타 (position/limit 은 바뀌지 않음)
+     * @return 적용했으면 true, 상태 길이가 다르거나 델타가 잘못되었으면 false (상태는 바뀌지 않음)
+     */
+    public static boolean apply(byte[] state, ByteBuffer delta) {
+        int p = delta.position();
+        int length = delta.remaining();
+        if (length < HEADER_BYTES || (length - HEADER_BYTES) % ENTRY_BYTES != 0
+                || (delta.getShort(p) & 0xFFFF) != state.length) {
+            return false;
+        }
+        for (int i = p + HEADER_BYTES; i < p + length; i += ENTRY_BYTES) {
+            if ((delta.getShort(i) & 0xFFFF) >= state.length) return false;
+        }
+        for (int i = p + HEADER_BYTES; i < p + length; i += ENTRY_BYTES) {
+            state[delta.getShort(i) & 0xFFFF] = delta.get(i + 2);
+        }
+        return true;
+    }
+}
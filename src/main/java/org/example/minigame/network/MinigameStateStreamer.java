@@ -0,0 +1,90 @@
+package org.example.minigame.network;
+
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+import org.example.minigame.base.MinigameBase;
+
+/**
+ * 미니게임 상태를 상대에게 일정 간격(기본 20Hz)으로 보내는 스트리머 (JavaFX 스레드에서만 사용)
+ * 게임은 상태가 바뀔 때 markDirty() 만 호출하고, 상태는 간격마다 한 번만 만들어 보내므로 (같은 간격 안에서는 마지막 상태만 보냄)
+ * 클릭이 아무리 빨라도 전송량과 상태 생성 비용은 간격에 묶입니다.
+ * 상대가 압축 상태를 받을 수 있으면 키프레임 뒤에 바뀐 바이트만 델타로 보내고, 아니면 JSON 상태를 보냅니다 (바뀌지 않았으면 보내지 않음).
+ */
+public class MinigameStateStreamer {
+
+    /**
+     * 상태를 실제로 보내는 쪽 (NetworkClient)
+     */
+    public interface Sink {
+        /**
+         * 압축 상태(키프레임/델타)를 보낼 수 있는지 (상대도 바이너리 프로토콜일 때)
+         */
+        boolean acceptsCompactState();
+
+        void sendStateJson(String stateJson);
+
+        void sendKeyframe(byte[] state);
+
+        void sendDelta(byte[] delta);
+    }
+
+    private static final int KEYFRAME_INTERVAL = 20; // 델타 20개마다 키프레임 (수신 측 상태가 어긋나도 다시 맞춤)
+
+    private final MinigameBase game;
+    private final Sink sink;
+    private final long intervalMillis;
+    private boolean dirty;
+    private boolean scheduled;
+    private long lastSentMillis;
+    private byte[] lastState;
+    private String lastJson;
+    private int deltasSinceKeyframe;
+
+    /**
+     * @param updatesPerSecond 초당 최대 전송 횟수
+     */
+    public MinigameStateStreamer(MinigameBase game, Sink sink, int updatesPerSecond) {
+        this.game = game;
+        this.sink = sink;
+        this.intervalMillis = 1000L / Math.max(1, updatesPerSecond);
+    }
+
+    /**
+     * 상태가 바뀌었음을 알림 (다음 전송 시점에 최신 상태를 보냄)
+     */
+    public void markDirty() {
+        dirty = true;
+        if (scheduled) return;
+        scheduled = true;
+        long delay = Math.max(0, lastSentMillis + intervalMillis - System.currentTimeMillis());
+        PauseTransition wait = new PauseTransition(Duration.millis(delay));
+        wait.setOnFinished(e -> publish());
+        wait.play();
+    }
+
+    private void publish() {
+        scheduled = false;
+        if (!dirty) return;
+        dirty = false;
+        lastSentMillis = System.currentTimeMillis();
+
+        byte[] state = sink.acceptsCompactState() ? game.getStateBytes() : null;
+        if (state == null) {
+            String json = game.getStateJson();
+            if (!json.equals(lastJson)) {
+                lastJson = json;
+                sink.sendStateJson(json);
+            }
+            return;
+        }
+        byte[] delta = deltasSinceKeyframe < KEYFRAME_INTERVAL ? MinigameDelta.diff(lastState, state) : null;
+        if (delta == null || delta.length >= state.length) {
+            sink.sendKeyframe(state);
+            deltasSinceKeyframe = 0;
+        } else if (!MinigameDelta.isEmpty(delta)) {
+            sink.sendDelta(delta);
+            deltasSinceKeyframe++;
+        }
+        lastState = state;
+    }
+}
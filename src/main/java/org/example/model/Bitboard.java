@@ -0,0 +1,142 @@
+package org.example.model;
+
+/**
+ * 비트보드 기반 오셀로 규칙 엔진
+ * 칸 번호는 y * 8 + x 이며, 각 칸은 long 의 한 비트에 대응합니다.
+ * 모든 메서드는 정적이고 객체를 생성하지 않으므로 AI 탐색 및 서버 검증에서 반복 호출해도 GC 부담이 없습니다.
+ */
+public final class Bitboard {
+
+    public static final int SIZE = 8;
+
+    // 열 경계 마스크 (시프트 후 줄바꿈 방지)
+    private static final long NOT_A_FILE = 0xFEFEFEFEFEFEFEFEL; // x == 0 제외
+    private static final long NOT_H_FILE = 0x7F7F7F7F7F7F7F7FL; // x == 7 제외
+
+    // 8방향: 동, 남동, 남, 남서, 서, 북서, 북, 북동
+    private static final int[] SHIFTS = {1, 9, 8, 7, -1, -9, -8, -7};
+    private static final long[] MASKS = {
+        NOT_A_FILE, NOT_A_FILE, -1L, NOT_H_FILE,
+        NOT_H_FILE, NOT_H_FILE, -1L, NOT_A_FILE
+    };
+
+    /** 보드 대칭 변환 수 (회전 4 x 반사 2) */
+    public static final int SYMMETRIES = 8;
+
+    /** 초기 배치 (흑: d5, e4 / 백: d4, e5) */
+    public static final long INITIAL_BLACK = bit(4, 3) | bit(3, 4);
+    public static final long INITIAL_WHITE = bit(3, 3) | bit(4, 4);
+
+    private Bitboard() {}
+
+    public static int square(int x, int y) {
+        return y * SIZE + x;
+    }
+
+    public static long bit(int x, int y) {
+        return 1L << square(x, y);
+    }
+
+    /**
+     * 한 방향으로 비트보드 전체를 한 칸 이동 (보드 밖으로 나가는 비트는 제거)
+     */
+    public static long shift(long b, int dir) {
+        int s = SHIFTS[dir];
+        return (s > 0 ? b << s : b >>> -s) & MASKS[dir];
+    }
+
+    /**
+     * player 가 둘 수 있는 모든 칸의 마스크
+     * @param player 현재 턴 플레이어의 돌
+     * @param opponent 상대방의 돌
+     */
+    public static long moves(long player, long opponent) {
+        long empty = ~(player | opponent);
+        long moves = 0L;
+        for (int dir = 0; dir < 8; dir++) {
+            long t = shift(player, dir) & opponent;
+            t |= shift(t, dir) & opponent;
+            t |= shift(t, dir) & opponent;
+            t |= shift(t, dir) & opponent;
+            t |= shift(t, dir) & opponent;
+            t |= shift(t, dir) & opponent;
+            moves |= shift(t, dir) & empty;
+        }
+        return moves;
+    }
+
+    /**
+     * sq 에 player 가 돌을 놓을 때 뒤집히는 상대 돌의 마스크 (둘 수 없으면 0)
+     */
+    public static long flips(long player, long opponent, int sq) {
+        long placed = 1L << sq;
+        if (((player | opponent) & placed) != 0) {
+            return 0L;
+        }
+        long flipped = 0L;
+        for (int dir = 0; dir < 8; dir++) {
+            long line = 0L;
+            long cur = shift(placed, dir);
+            while ((cur & opponent) != 0) {
+                line |= cur;
+                cur = shift(cur, dir);
+            }
+            if ((cur & player) != 0) {
+                flipped |= line;
+            }
+        }
+        return flipped;
+    }
+
+    /**
+     * 대칭 변환 (sym 비트 2: 대각선 전치, 비트 1: 상하 반전, 비트 0: 좌우 반전 순서로 적용)
+     */
+    public static long transform(long b, int sym) {
+        if ((sym & 4) != 0) b = transpose(b);
+        if ((sym & 2) != 0) b = Long.reverseBytes(b);
+        if ((sym & 1) != 0) b = mirror(b);
+        return b;
+    }
+
+    /**
+     * 칸 번호에 transform 과 같은 대칭 변환 적용
+     */
+    public static int transformSquare(int sq, int sym) {
+        int x = sq & 7;
+        int y = sq >>> 3;
+        if ((sym & 4) != 0) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        if ((sym & 2) != 0) y = 7 - y;
+        if ((sym & 1) != 0) x = 7 - x;
+        return square(x, y);
+    }
+
+    /**
+     * sym 변환의 역변환 번호 (전치가 포함되면 두 반전의 축이 서로 바뀜)
+     */
+    public static int inverseSymmetry(int sym) {
+        return (sym & 4) == 0 ? sym : 4 | ((sym & 1) << 1) | ((sym & 2) >>> 1);
+    }
+
+    // 좌우 반전 (x -> 7 - x)
+    private static long mirror(long b) {
+        b = ((b >>> 1) & 0x5555555555555555L) | ((b & 0x5555555555555555L) << 1);
+        b = ((b >>> 2) & 0x3333333333333333L) | ((b & 0x3333333333333333L) << 2);
+        b = ((b >>> 4) & 0x0F0F0F0F0F0F0F0FL) | ((b & 0x0F0F0F0F0F0F0F0FL) << 4);
+        return b;
+    }
+
+    // 주대각선 기준 전치 (x <-> y)
+    private static long transpose(long b) {
+        long t = 0x0F0F0F0F00000000L & (b ^ (b << 28));
+        b ^= t ^ (t >>> 28);
+        t = 0x3333000033330000L & (b ^ (b << 14));
+        b ^= t ^ (t >>> 14);
+        t = 0x5500550055005500L & (b ^ (b << 7));
+        b ^= t ^ (t >>> 7);
+        return b;
+    }
+}
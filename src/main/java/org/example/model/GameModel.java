@@ -2,6 +2,7 @@ package org.example.model;
 
 import org.example.service.DatabaseService;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -11,7 +12,15 @@ public class GameModel {
     // 난이도 Enum 추가
     public enum Difficulty { EASY, MEDIUM, HARD }
 
-    private int[][] board;
+    /** makeMove 에 전달하는 패스 수 */
+    public static final int PASS = -1;
+
+    private int[][] board; // UI/프롬프트용 미러 (비트보드와 항상 동기화)
+    private long blackBits; // 흑돌 비트보드
+    private long whiteBits; // 백돌 비트보드
+    private int blackCount; // 흑돌 수 (증분 갱신)
+    private int whiteCount; // 백돌 수 (증분 갱신)
+    private long hash; // 국면 + 둘 차례의 Zobrist 해시 (증분 갱신)
     private int currentTurn;
     private final int SIZE = 8;
     private boolean isGameOver;
@@ -19,9 +28,13 @@ public class GameModel {
     private int aiColor; // AI의 돌 색상
     private Difficulty aiDifficulty; // 난이도 저장 변수
 
-    // 8방향 벡터
-    private final int[] DY = {-1, 1, 0, 0, -1, -1, 1, 1};
-    private final int[] DX = {0, 0, -1, 1, -1, 1, -1, 1};
+    // 무르기(undo) 스택: 수 하나당 칸 번호, 뒤집힌 돌 마스크, 이전 턴, 이전 연속 패스 수를 기록
+    private int[] undoSquares = new int[128];
+    private long[] undoFlips = new long[128];
+    private int[] undoTurns = new int[128];
+    private int[] undoPasses = new int[128];
+    private int undoCount;
+    private int consecutivePasses;
 
     public GameModel() {
         gameMode = Mode.LOCAL;
@@ -35,8 +48,15 @@ public class GameModel {
         board = new int[SIZE][SIZE];
         board[3][3] = 2; board[4][4] = 2; //백돌 초기 배치
         board[3][4] = 1; board[4][3] = 1; //흑돌 초기 배치
+        blackBits = Bitboard.INITIAL_BLACK;
+        whiteBits = Bitboard.INITIAL_WHITE;
+        blackCount = 2;
+        whiteCount = 2;
         currentTurn = 1;
+        hash = Zobrist.hash(blackBits, whiteBits, currentTurn);
         isGameOver = false;
+        undoCount = 0;
+        consecutivePasses = 0;
 
         if (gameMode == Mode.AI) {
             Random random = new Random();
@@ -46,25 +66,181 @@ public class GameModel {
         }
     }
 
+    /**
+     * 주어진 국면으로 보드를 바꿈 (온라인 대전에서 서버 보드와 맞출 때 사용, 무르기 기록은 지움)
+     * @param turn 둘 차례 (1: 흑, 2: 백)
+     */
+    public void setPosition(long black, long white, int turn) {
+        board = new int[SIZE][SIZE];
+        for (long b = black; b != 0; b &= b - 1) {
+            int s = Long.numberOfTrailingZeros(b);
+            board[s >>> 3][s & 7] = 1;
+        }
+        for (long w = white; w != 0; w &= w - 1) {
+            int s = Long.numberOfTrailingZeros(w);
+            board[s >>> 3][s & 7] = 2;
+        }
+        blackBits = black;
+        whiteBits = white;
+        blackCount = Long.bitCount(black);
+        whiteCount = Long.bitCount(white);
+        currentTurn = turn;
+        hash = Zobrist.hash(blackBits, whiteBits, currentTurn);
+        undoCount = 0;
+        consecutivePasses = 0;
+        isGameOver = Bitboard.moves(black, white) == 0L && Bitboard.moves(white, black) == 0L;
+    }
+
     public boolean placePieceAndFlip(int x, int y) {
         if (x < 0 || x >= SIZE || y < 0 || y >= SIZE || board[y][x] != 0) {
             return false;
         }
 
-        List<int[]> piecesToFlip = getPiecesToFlip(x, y, currentTurn);
+        int sq = Bitboard.square(x, y);
+        long flips = Bitboard.flips(bitsOf(currentTurn), bitsOf(opponentOf(currentTurn)), sq);
+
+        if (flips == 0L) {
+            return false;
+        }
+
+        pushUndo(sq, flips);
+        applyMove(sq, flips, currentTurn);
+        consecutivePasses = 0;
+        return true;
+    }
+
+    // --- 탐색용 수 두기/무르기 (보드 복사 없이 게임 트리 탐색) ---
 
-        if (piecesToFlip.isEmpty()) {
+    /**
+     * 현재 턴 플레이어가 square에 두고 턴을 넘김 (square == PASS 이면 패스)
+     * @param square 칸 번호 (y * 8 + x) 또는 PASS
+     * @return 유효하지 않은 수이면 false (상태 변화 없음)
+     */
+    public boolean makeMove(int square) {
+        if (square == PASS) {
+            pushUndo(PASS, 0L);
+            consecutivePasses++;
+            switchTurn();
+            return true;
+        }
+        if (square < 0 || square >= SIZE * SIZE) {
             return false;
         }
 
-        board[y][x] = currentTurn;
-        for (int[] pos : piecesToFlip) {
-            board[pos[0]][pos[1]] = currentTurn;
+        long flips = Bitboard.flips(bitsOf(currentTurn), bitsOf(opponentOf(currentTurn)), square);
+        if (flips == 0L) {
+            return false;
         }
 
+        pushUndo(square, flips);
+        applyMove(square, flips, currentTurn);
+        consecutivePasses = 0;
+        switchTurn();
+        return true;
+    }
+
+    /**
+     * 마지막 수(makeMove 또는 placePieceAndFlip)를 되돌림
+     * 턴은 그 수를 두기 직전의 플레이어로 복원됩니다.
+     * @return 되돌릴 수가 없으면 false
+     */
+    public boolean unmakeMove() {
+        if (undoCount == 0) {
+            return false;
+        }
+        undoCount--;
+        int sq = undoSquares[undoCount];
+        int player = undoTurns[undoCount];
+        if (sq != PASS) {
+            revertMove(sq, undoFlips[undoCount], player);
+        }
+        setCurrentTurn(player);
+        consecutivePasses = undoPasses[undoCount];
         return true;
     }
 
+    public boolean canUndo() { return undoCount > 0; }
+    public int getMoveCount() { return undoCount; }
+    public int getConsecutivePasses() { return consecutivePasses; }
+
+    private void pushUndo(int sq, long flips) {
+        if (undoCount == undoSquares.length) {
+            int capacity = undoCount * 2;
+            undoSquares = Arrays.copyOf(undoSquares, capacity);
+            undoFlips = Arrays.copyOf(undoFlips, capacity);
+            undoTurns = Arrays.copyOf(undoTurns, capacity);
+            undoPasses = Arrays.copyOf(undoPasses, capacity);
+        }
+        undoSquares[undoCount] = sq;
+        undoFlips[undoCount] = flips;
+        undoTurns[undoCount] = currentTurn;
+        undoPasses[undoCount] = consecutivePasses;
+        undoCount++;
+    }
+
+    /**
+     * 비트보드와 미러 배열에 돌 배치 및 뒤집기를 반영
+     */
+    private void applyMove(int sq, long flips, int player) {
+        long placed = 1L << sq;
+        int flipCount = Long.bitCount(flips);
+        if (player == 1) {
+            blackBits |= placed | flips;
+            whiteBits &= ~flips;
+            blackCount += flipCount + 1;
+            whiteCount -= flipCount;
+        } else {
+            whiteBits |= placed | flips;
+            blackBits &= ~flips;
+            whiteCount += flipCount + 1;
+            blackCount -= flipCount;
+        }
+        hash ^= Zobrist.moveDelta(sq, flips, player);
+
+        board[sq >>> 3][sq & 7] = player;
+        for (long f = flips; f != 0; f &= f - 1) {
+            int s = Long.numberOfTrailingZeros(f);
+            board[s >>> 3][s & 7] = player;
+        }
+    }
+
+    /**
+     * applyMove 의 역연산: 놓은 돌을 제거하고 뒤집힌 돌을 상대 색으로 복원
+     */
+    private void revertMove(int sq, long flips, int player) {
+        long placed = 1L << sq;
+        int opponent = opponentOf(player);
+        int flipCount = Long.bitCount(flips);
+        if (player == 1) {
+            blackBits &= ~(placed | flips);
+            whiteBits |= flips;
+            blackCount -= flipCount + 1;
+            whiteCount += flipCount;
+        } else {
+            whiteBits &= ~(placed | flips);
+            blackBits |= flips;
+            whiteCount -= flipCount + 1;
+            blackCount += flipCount;
+        }
+        hash ^= Zobrist.moveDelta(sq, flips, player);
+
+        board[sq >>> 3][sq & 7] = 0;
+        for (long f = flips; f != 0; f &= f - 1) {
+            int s = Long.numberOfTrailingZeros(f);
+            board[s >>> 3][s & 7] = opponent;
+        }
+    }
+
+    private long bitsOf(int player) {
+        if (player == 1) return blackBits;
+        if (player == 2) return whiteBits;
+        return 0L;
+    }
+
+    private static int opponentOf(int player) {
+        return (player == 1) ? 2 : 1;
+    }
+
 
 
 
@@ -76,22 +252,10 @@ public class GameModel {
             return piecesToFlip;
         }
 
-        int opponent = (player == 1) ? 2 : 1;
-
-        for (int i = 0; i < 8; i++) {
-            List<int[]> potentialFlip = new ArrayList<>();
-            int ny = y + DY[i];
-            int nx = x + DX[i];
-            // 상대발 돌을 만나는 동안 계속 이동동
-            while (ny >= 0 && ny < SIZE && nx >= 0 && nx < SIZE && board[ny][nx] == opponent) {
-                potentialFlip.add(new int[]{ny, nx});
-                ny += DY[i];
-                nx += DX[i];
-            }
-            // 끝에 자신의 돌이 있으면 뒤집을 수 있음음
-            if (ny >= 0 && ny < SIZE && nx >= 0 && nx < SIZE && board[ny][nx] == player) {
-                piecesToFlip.addAll(potentialFlip);
-            }
+        long flips = Bitboard.flips(bitsOf(player), bitsOf(opponentOf(player)), Bitboard.square(x, y));
+        for (long f = flips; f != 0; f &= f - 1) {
+            int s = Long.numberOfTrailingZeros(f);
+            piecesToFlip.add(new int[]{s >>> 3, s & 7});
         }
 
         return piecesToFlip;
@@ -102,47 +266,98 @@ public class GameModel {
 
     // 유효한 수 목록 반환
     public List<int[]> getValidMoves() {
-        List<int[]> validMoves = new ArrayList<>();
+        return getValidMovesFor(currentTurn);
+    }
 
-        for (int y = 0; y < SIZE; y++) {
-            for (int x = 0; x < SIZE; x++) {
-                if (board[y][x] == 0) {
-                    if (!getPiecesToFlip(x, y, currentTurn).isEmpty()) {
-                        validMoves.add(new int[]{x, y});
-                    }
-                }
-            }
+    // 특정 플레이어가 둘 수 있는 자리 목록 (미니게임 성공 시 강제 수를 둘 때 사용)
+    public List<int[]> getValidMovesFor(int player) {
+        List<int[]> validMoves = new ArrayList<>();
+        for (long m = getValidMoveMaskFor(player); m != 0; m &= m - 1) {
+            int s = Long.numberOfTrailingZeros(m);
+            validMoves.add(new int[]{s & 7, s >>> 3});
         }
         return validMoves;
     }
 
-    // ?�정???�어�?용 가??자리 ???�기 (미니게임 ?�득 시 강제 ?�로 ???�음)
-    public List<int[]> getValidMovesFor(int player) {
-        int originalTurn = currentTurn;
-        currentTurn = player;
-        List<int[]> moves = getValidMoves();
-        currentTurn = originalTurn;
-        return moves;
+    // --- 할당 없는 수 목록 API (칸 번호 = y * 8 + x) ---
+
+    /**
+     * 현재 턴 플레이어가 둘 수 있는 칸의 64비트 마스크
+     */
+    public long getValidMoveMask() {
+        return getValidMoveMaskFor(currentTurn);
+    }
+
+    public long getValidMoveMaskFor(int player) {
+        return Bitboard.moves(bitsOf(player), bitsOf(opponentOf(player)));
+    }
+
+    public boolean hasValidMove() {
+        return getValidMoveMask() != 0L;
+    }
+
+    /**
+     * 유효한 수의 칸 번호를 호출자가 재사용하는 배열에 채움
+     * @param squares 길이 64 이상 권장
+     * @return 채워진 수의 개수
+     */
+    public int getValidMoves(int[] squares) {
+        int count = 0;
+        for (long m = getValidMoveMask(); m != 0 && count < squares.length; m &= m - 1) {
+            squares[count++] = Long.numberOfTrailingZeros(m);
+        }
+        return count;
+    }
+
+    /**
+     * (x, y)에 player가 둘 때 뒤집히는 돌의 마스크 (둘 수 없으면 0)
+     */
+    public long getFlipMask(int x, int y, int player) {
+        if (x < 0 || x >= SIZE || y < 0 || y >= SIZE) {
+            return 0L;
+        }
+        return Bitboard.flips(bitsOf(player), bitsOf(opponentOf(player)), Bitboard.square(x, y));
     }
 
     public void switchTurn() {
-        currentTurn = (currentTurn == 1) ? 2 : 1;
+        setCurrentTurn((currentTurn == 1) ? 2 : 1);
     }
 
     public void setCurrentTurn(int turn) {
+        if ((currentTurn == 2) != (turn == 2)) {
+            hash ^= Zobrist.WHITE_TO_MOVE;
+        }
         this.currentTurn = turn;
     }
 
+    // 돌 수는 수를 둘 때마다 증분 갱신되므로 O(1)
     public int getScore(int player) {
-        int count = 0;
-        for (int y = 0; y < SIZE; y++) {
-            for (int x = 0; x < SIZE; x++) {
-                if (board[y][x] == player) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        if (player == 1) return blackCount;
+        if (player == 2) return whiteCount;
+        return 0;
+    }
+
+    public int getEmptyCount() {
+        return SIZE * SIZE - blackCount - whiteCount;
+    }
+
+    /**
+     * 국면(돌 배치 + 둘 차례)의 64비트 Zobrist 해시
+     * AI 캐시, 서버 중복 검사, 기보 중복 제거의 키로 사용할 수 있습니다.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    // AI 탐색용 비트보드 접근자 (칸 번호 = y * 8 + x)
+    public long getBlackBits() { return blackBits; }
+    public long getWhiteBits() { return whiteBits; }
+
+    /**
+     * 현재 국면의 불변 스냅샷 (다른 스레드의 AI 계산에 전달)
+     */
+    public Position getPosition() {
+        return new Position(blackBits, whiteBits, currentTurn);
     }
 
     public String getCurrentPlayerName() {
@@ -0,0 +1,60 @@
+package org.example.model;
+
+/**
+ * 국면 스냅샷 (불변)
+ * AI 계산을 다른 스레드에서 수행할 때 GameModel 대신 전달하여, 계산 도중 보드가 바뀌거나 초기화되어도 영향을 받지 않게 합니다.
+ */
+public final class Position {
+
+    private final long black;
+    private final long white;
+    private final int turn;
+
+    /**
+     * @param turn 둘 차례 (1: 흑, 2: 백)
+     */
+    public Position(long black, long white, int turn) {
+        this.black = black;
+        this.white = white;
+        this.turn = turn;
+    }
+
+    public static Position initial() {
+        return new Position(Bitboard.INITIAL_BLACK, Bitboard.INITIAL_WHITE, 1);
+    }
+
+    /** 둘 차례인 플레이어의 돌 */
+    public long getPlayer() { return turn == 1 ? black : white; }
+
+    /** 상대방의 돌 */
+    public long getOpponent() { return turn == 1 ? white : black; }
+
+    public long getBlackBits() { return black; }
+    public long getWhiteBits() { return white; }
+    public int getTurn() { return turn; }
+
+    public long getValidMoveMask() {
+        return Bitboard.moves(getPlayer(), getOpponent());
+    }
+
+    public int getEmptyCount() {
+        return Long.bitCount(~(black | white));
+    }
+
+    public long getHash() {
+        return Zobrist.hash(black, white, turn);
+    }
+
+    /**
+     * board[y][x] 형식의 배열 (0: 빈칸, 1: 흑, 2: 백)
+     */
+    public int[][] toBoard() {
+        int[][] board = new int[Bitboard.SIZE][Bitboard.SIZE];
+        for (int sq = 0; sq < 64; sq++) {
+            long b = 1L << sq;
+            if ((black & b) != 0) board[sq >>> 3][sq & 7] = 1;
+            else if ((white & b) != 0) board[sq >>> 3][sq & 7] = 2;
+        }
+        return board;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * 64비트 Zobrist 해시 키 테이블
+ * 시드가 고정되어 있으므로 프로세스가 달라도 같은 국면은 같은 해시를 가집니다.
+ * (AI 캐시, 서버 중복 검사, 기보 중복 제거, 오프닝 북 파일 등에서 공통으로 사용)
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x4F5448454C4C4FL; // "OTHELLO"
+
+    private static final long[] BLACK = new long[64];
+    private static final long[] WHITE = new long[64];
+    private static final long[] FLIP = new long[64]; // BLACK ^ WHITE (돌 뒤집기용)
+
+    /** 백 차례일 때 XOR 되는 키 */
+    public static final long WHITE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int sq = 0; sq < 64; sq++) {
+            BLACK[sq] = random.nextLong();
+            WHITE[sq] = random.nextLong();
+            FLIP[sq] = BLACK[sq] ^ WHITE[sq];
+        }
+        WHITE_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {}
+
+    /**
+     * 국면 전체로부터 해시 계산
+     * @param turn 둘 차례 (1: 흑, 2: 백)
+     */
+    public static long hash(long black, long white, int turn) {
+        long h = (turn == 2) ? WHITE_TO_MOVE : 0L;
+        for (long b = black; b != 0; b &= b - 1) {
+            h ^= BLACK[Long.numberOfTrailingZeros(b)];
+        }
+        for (long w = white; w != 0; w &= w - 1) {
+            h ^= WHITE[Long.numberOfTrailingZeros(w)];
+        }
+        return h;
+    }
+
+    /**
+     * player 가 sq 에 두고 flips 를 뒤집을 때 해시 변화량 (턴 키 제외)
+     * 같은 값을 한 번 더 XOR 하면 원래 해시로 돌아갑니다.
+     */
+    public static long moveDelta(int sq, long flips, int player) {
+        long h = (player == 1) ? BLACK[sq] : WHITE[sq];
+        for (long f = flips; f != 0; f &= f - 1) {
+            h ^= FLIP[Long.numberOfTrailingZeros(f)];
+        }
+        return h;
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 바이너리 프레임 프로토콜 (텍스트 프로토콜과 함께 사용)
+ * 클라이언트가 'USER_ID_BIN 버전 사용자ID' 줄을 보내면 서버가 'PROTO_BIN 버전' 줄로 응답하고,
+ * 그 뒤로는 양방향 모두 [길이 2바이트][opcode 1바이트][내용] 프레임만 주고받습니다 (길이 = opcode + 내용, big-endian).
+ * 'USER_ID 사용자ID' 로 접속한 기존 클라이언트는 계속 텍스트 줄을 사용하며, 서버가 방 안에서 두 형식을 서로 변환합니다.
+ * 수는 칸 번호(y * 8 + x) 1바이트로 보냅니다. 수신 측은 프레임을 그 자리에서 읽으므로 수/턴 메시지 처리에 객체를 만들지 않습니다.
+ * 서버가 보내는 수와 SYNC 에는 방 안의 수 순번이 붙습니다 (한 게임은 수백 수를 넘지 않으므로 2바이트).
+ */
+final class BinaryProtocol {
+
+    static final int VERSION = 1;
+    static final String HELLO = "USER_ID_BIN";  // 클라이언트 → 서버: USER_ID_BIN <버전> <사용자 ID>
+    static final String ACCEPT = "PROTO_BIN";   // 서버 → 클라이언트: PROTO_BIN <버전>
+
+    static final int HEADER_BYTES = 2;
+    static final int MAX_BODY_BYTES = 0xFFFF;   // opcode + 내용
+
+    // opcode (괄호 안은 내용)
+    static final byte OP_MOVE = 0x01;                 // [칸 번호], 서버가 보낼 때는 [칸 번호][순번 2]
+    static final byte OP_RANDOM_MOVE = 0x02;
+    static final byte OP_RANDOM_MOVE_EXECUTED = 0x03;
+    static final byte OP_SYNC = 0x04;                 // [순번 2][흑 비트보드 8][백 비트보드 8][둘 차례]
+    static final byte OP_SYNC_REQUEST = 0x05;
+    static final byte OP_START = 0x10;                // [색 1=흑 2=백][상대도 바이너리면 1][상대 ID UTF-8]
+    static final byte OP_GAME_OVER = 0x11;
+    static final byte OP_ROOM_CLOSED = 0x12;          // [사유 번호]
+    static final byte OP_MINIGAME_START = 0x20;       // [미니게임 번호]
+    static final byte OP_MINIGAME_UPDATE = 0x21;      // [STATE_JSON, STATE_COMPACT 또는 STATE_DELTA][상태]
+    static final byte OP_MINIGAME_RESULT = 0x22;      // [성공 1/0][점수 4][시간 4][강제 수 칸 번호, 없으면 -1]
+    static final byte OP_MINIGAME_CLOSE = 0x23;
+
+    static final byte STATE_JSON = 0;     // 상태가 JSON 텍스트 (텍스트 클라이언트와 변환 가능)
+    static final byte STATE_COMPACT = 1;  // 미니게임이 정의한 압축 상태 = 키프레임 (상대도 바이너리일 때만 보냄)
+    static final byte STATE_DELTA = 2;    // 직전 압축 상태에서 바뀐 바이트 (MinigameDelta)
+
+    private static final String[] MINIGAME_TYPES = {"REACTION", "MEMORY", "DODGE"};
+    private static final String[] CLOSE_REASONS = {"LEFT", "GAME_OVER", "IDLE"};
+
+    private BinaryProtocol() {}
+
+    /**
+     * 내용 길이에 맞는 프레임을 만들고 머리말과 opcode 를 채움 (내용을 채운 뒤 flip 해서 보냄)
+     */
+    static ByteBuffer frame(byte opcode, int payloadBytes) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + 1 + payloadBytes);
+        frame.putShort((short) (1 + payloadBytes));
+        frame.put(opcode);
+        return frame;
+    }
+
+    static ByteBuffer start(boolean black, boolean peerBinary, String opponentId) {
+        byte[] id = opponentId.getBytes(StandardCharsets.UTF_8);
+        return frame(OP_START, 2 + id.length)
+                .put((byte) (black ? 1 : 2))
+                .put((byte) (peerBinary ? 1 : 0))
+                .put(id)
+                .flip();
+    }
+
+    static ByteBuffer move(int sq, int seq) {
+        return frame(OP_MOVE, 3).put((byte) sq).putShort((short) seq).flip();
+    }
+
+    static ByteBuffer sync(int seq, long black, long white, int turn) {
+        return frame(OP_SYNC, 19).putShort((short) seq).putLong(black).putLong(white).put((byte) turn).flip();
+    }
+
+    static ByteBuffer minigameUpdate(byte encoding, byte[] state) {
+        if (state.length + 2 > MAX_BODY_BYTES) return null;
+        return frame(OP_MINIGAME_UPDATE, 1 + state.length).put(encoding).put(state).flip();
+    }
+
+    /**
+     * 수신한 프레임 내용을 머리말을 붙여 그대로 복사 (바이너리 클라이언트끼리 중계)
+     * @param body opcode 부터 프레임 끝까지 (position/limit 은 바뀌지 않음)
+     */
+    static ByteBuffer copy(ByteBuffer body) {
+        int length = body.remaining();
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + length);
+        frame.putShort(0, (short) length);
+        frame.put(HEADER_BYTES, body, body.position(), length);
+        return frame;
+    }
+
+    /**
+     * 텍스트 메시지를 같은 뜻의 프레임으로 변환
+     * @return 프레임, 바이너리로 표현할 수 없는 메시지면 null
+     */
+    static ByteBuffer encode(String line) {
+        String[] parts = line.split(" ", 2);
+        String rest = parts.length > 1 ? parts[1] : "";
+        switch (parts[0]) {
+            case "MOVE": {
+                String[] xy = rest.split(" ");
+                if (xy.length < 2) return null;
+                int sq = square(parseInt(xy[0], -1), parseInt(xy[1], -1));
+                if (sq < 0) return null;
+                return xy.length > 2 ? move(sq, parseInt(xy[2], 0)) : frame(OP_MOVE, 1).put((byte) sq).flip();
+            }
+            case "SYNC": {
+                String[] s = rest.split(" ");
+                if (s.length < 4) return null;
+                try {
+                    return sync(parseInt(s[0], 0), Long.parseUnsignedLong(s[1], 16),
+                            Long.parseUnsignedLong(s[2], 16), parseInt(s[3], 1));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            case "SYNC_REQUEST":
+                return frame(OP_SYNC_REQUEST, 0).flip();
+            case "RANDOM_MOVE":
+                return frame(OP_RANDOM_MOVE, 0).flip();
+            case "RANDOM_MOVE_EXECUTED":
+                return frame(OP_RANDOM_MOVE_EXECUTED, 0).flip();
+            case "START_BLACK":
+            case "START_WHITE":
+                return start(parts[0].equals("START_BLACK"), false, rest);
+            case "GAME_OVER":
+                return frame(OP_GAME_OVER, 0).flip();
+            case "ROOM_CLOSED": {
+                int reason = indexOf(CLOSE_REASONS, rest);
+                return reason < 0 ? null : frame(OP_ROOM_CLOSED, 1).put((byte) reason).flip();
+            }
+            case "MINIGAME_START": {
+                int type = indexOf(MINIGAME_TYPES, rest.trim());
+                return type < 0 ? null : frame(OP_MINIGAME_START, 1).put((byte) type).flip();
+            }
+            case "MINIGAME_UPDATE":
+                return minigameUpdate(STATE_JSON, rest.trim().getBytes(StandardCharsets.UTF_8));
+            case "MINIGAME_RESULT": {
+                String[] r = rest.split(" ");
+                boolean success = "SUCCESS".equalsIgnoreCase(r[0]);
+                int score = r.length > 1 ? parseInt(r[1], 0) : 0;
+                int time = r.length > 2 ? parseInt(r[2], 0) : 0;
+                int sq = r.length > 4 ? square(parseInt(r[3], -1), parseInt(r[4], -1)) : -1;
+                return frame(OP_MINIGAME_RESULT, 10)
+                        .put((byte) (success ? 1 : 0)).putInt(score).putInt(time).put((byte) sq)
+                        .flip();
+            }
+            case "MINIGAME_CLOSE":
+                return frame(OP_MINIGAME_CLOSE, 0).flip();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 프레임을 같은 뜻의 텍스트 메시지로 변환 (텍스트 클라이언트에게 중계)
+     * @param body opcode 부터 프레임 끝까지 (position/limit 은 바뀌지 않음)
+     * @return 텍스트 메시지, 텍스트로 표현할 수 없거나 내용이 잘못되었으면 null
+     */
+    static String decode(ByteBuffer body) {
+        int p = body.position();
+        int length = body.remaining();
+        if (length < 1) return null;
+        switch (body.get(p)) {
+            case OP_MOVE: {
+                if (length < 2) return null;
+                int sq = body.get(p + 1);
+                if (sq < 0 || sq >= 64) return null;
+                return "MOVE " + (sq & 7) + " " + (sq >>> 3)
+                        + (length >= 4 ? " " + (body.getShort(p + 2) & 0xFFFF) : "");
+            }
+            case OP_SYNC:
+                if (length < 20) return null;
+                return "SYNC " + (body.getShort(p + 1) & 0xFFFF)
+                        + " " + Long.toHexString(body.getLong(p + 3))
+                        + " " + Long.toHexString(body.getLong(p + 11))
+                        + " " + body.get(p + 19);
+            case OP_SYNC_REQUEST:
+                return "SYNC_REQUEST";
+            case OP_RANDOM_MOVE:
+                return "RANDOM_MOVE";
+            case OP_RANDOM_MOVE_EXECUTED:
+                return "RANDOM_MOVE_EXECUTED";
+            case OP_START:
+                if (length < 3) return null;
+                return (body.get(p + 1) == 1 ? "START_BLACK " : "START_WHITE ") + utf8(body, p + 3, length - 3);
+            case OP_GAME_OVER:
+                return "GAME_OVER";
+            case OP_ROOM_CLOSED:
+                return length < 2 ? null : "ROOM_CLOSED " + closeReason(body.get(p + 1));
+            case OP_MINIGAME_START: {
+                String type = length < 2 ? null : minigameType(body.get(p + 1));
+                return type == null ? null : "MINIGAME_START " + type;
+            }
+            case OP_MINIGAME_UPDATE:
+                if (length < 2 || body.get(p + 1) != STATE_JSON) return null;
+                return "MINIGAME_UPDATE " + utf8(body, p + 2, length - 2);
+            case OP_MINIGAME_RESULT: {
+                if (length < 11) return null;
+                int sq = body.get(p + 10);
+                return "MINIGAME_RESULT " + (body.get(p + 1) != 0 ? "SUCCESS" : "FAIL")
+                        + " " + body.getInt(p + 2) + " " + body.getInt(p + 6)
+                        + (sq < 0 ? " -1 -1" : " " + (sq & 7) + " " + (sq >>> 3));
+            }
+            case OP_MINIGAME_CLOSE:
+                return "MINIGAME_CLOSE";
+            default:
+                return null;
+        }
+    }
+
+    static String minigameType(int code) {
+        return code >= 0 && code < MINIGAME_TYPES.length ? MINIGAME_TYPES[code] : null;
+    }
+
+    static String closeReason(int code) {
+        return code >= 0 && code < CLOSE_REASONS.length ? CLOSE_REASONS[code] : "";
+    }
+
+    static String utf8(ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int square(int x, int y) {
+        return x >= 0 && x < 8 && y >= 0 && y < 8 ? y * 8 + x : -1;
+    }
+
+    private static int indexOf(String[] table, String value) {
+        for (int i = 0; i < table.length; i++) {
+            if (table[i].equals(value)) return i;
+        }
+        return -1;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.network;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 서버 측 클라이언트 연결 (블로킹 ClientHandler 와 NIO 연결의 공통 부분)
+ * GameRoom 과 매칭 로직은 이 인터페이스만 사용하므로 서버 방식과 관계없이 동작합니다.
+ */
+interface ClientConnection {
+
+    /**
+     * 메시지 한 줄 전송 (줄바꿈은 구현에서 붙임)
+     */
+    void sendMessage(String message);
+
+    /**
+     * 바이너리 프레임 전송 (머리말 포함, 바이너리 모드에서만 사용)
+     */
+    void sendFrame(ByteBuffer frame);
+
+    /**
+     * 바이너리 프로토콜로 전환 (PROTO_BIN 응답을 보낸 직후 호출, 이후 받는 데이터도 프레임으로 해석)
+     */
+    void enableBinary();
+
+    boolean isBinary();
+
+    /**
+     * 순번이 붙은 MOVE 와 SYNC 를 받을 수 있는 텍스트 클라이언트로 표시 (USER_ID 전에 'PROTO_TXT 버전' 을 보낸 클라이언트)
+     */
+    void enableSync();
+
+    /**
+     * 순번이 붙은 MOVE 와 SYNC 를 이해하는지 (바이너리 클라이언트는 항상 이해함)
+     * 'USER_ID' 로만 접속한 기존 클라이언트는 'MOVE x y' 만 해석하므로 순번과 SYNC 를 보내지 않습니다.
+     */
+    boolean acceptsSync();
+
+    /**
+     * 연결 끊기 (어느 스레드에서나 호출 가능, 이미 끊겼으면 무시)
+     */
+    void disconnect();
+
+    boolean isValid();
+    String getUserId();
+    void setUserId(String userId);
+    GameRoom getRoom();
+    void setRoom(GameRoom room);
+}
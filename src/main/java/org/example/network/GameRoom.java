@@ -0,0 +1,386 @@
+package org.example.network;
+
+import org.example.model.GameModel;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 게임 방 관리 클래스.
+ * 방 번호는 RoomRegistry 가 부여하며, 방을 닫을 때도 RoomRegistry.close 를 거칩니다.
+ * 두 플레이어의 프로토콜(텍스트/바이너리)이 다르면 중계할 때 받는 쪽 형식으로 변환합니다.
+ * 방마다 서버 기준 보드(GameModel)를 두어 수를 검증하고, 받아들인 수만 순번과 함께 상대에게 보냅니다.
+ * 받아들이지 않은 수를 보낸 쪽에는 'SYNC 순번 흑 백 차례' 로 서버 보드를 보내 맞춥니다 (비트보드 연산만 하므로 수 하나에 1µs 미만).
+ * 순번과 SYNC 는 이를 이해하는 클라이언트(바이너리, 'PROTO_TXT' 를 보낸 텍스트)에게만 보내고, 기존 클라이언트에게는 예전 형식('MOVE x y')으로 보냅니다.
+ * 기존 클라이언트가 있는 방에서 랜덤 수를 요청하면 예전처럼 상대가 직접 두므로, 그 뒤로는 서버 보드 없이 수를 중계만 합니다.
+ * 미니게임 상태 갱신은 받는 플레이어별 MinigameRelay 가 간격마다 마지막 상태만 보냅니다.
+ * 미니게임 결과(MINIGAME_RESULT, RANDOM_MOVE)는 서버가 시작을 본 미니게임이 진행 중일 때, 시작한 플레이어에게서 한 번만 받습니다.
+ * 미니게임 시작은 상대 차례일 때, 플레이어마다 찬스카드 수(3)만큼만 받습니다.
+ */
+class GameRoom {
+    private static final int BLACK = 1;
+    private static final int WHITE = 2;
+    private static final int CHANCE_CARDS = 3; // 플레이어마다 쓸 수 있는 찬스카드 수 (GameView 의 카드 수와 같음)
+
+    private final int id;
+    private final ClientConnection player1; // Black
+    private final ClientConnection player2; // White
+    private final GameModel model = new GameModel(); // 서버 기준 보드 (this 로 보호)
+    private int seq;                                 // 받아들인 수의 순번 (this 로 보호)
+    private boolean verified = true;                 // 서버 보드가 클라이언트와 같은지 (this 로 보호, 기존 방식 랜덤 수 이후 false)
+    private volatile ClientConnection minigamePlayer; // 진행 중인 미니게임을 시작한 플레이어, 없으면 null (변경은 this 로 보호)
+    private final int[] minigameStarts = new int[3];  // 색별로 받아들인 미니게임 시작 수 (this 로 보호)
+    private final MinigameRelay toPlayer1;
+    private final MinigameRelay toPlayer2;
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+
+    GameRoom(int id, ClientConnection p1, ClientConnection p2) {
+        this.id = id;
+        this.player1 = p1;
+        this.player2 = p2;
+        this.toPlayer1 = new MinigameRelay(p1);
+        this.toPlayer2 = new MinigameRelay(p2);
+        player1.setRoom(this);
+        player2.setRoom(this);
+    }
+
+    public int getId() { return id; }
+    public long getLastActivityMillis() { return lastActivityMillis; }
+
+    /**
+     * 방에서 메시지를 받았음을 기록 (유휴 방 정리 기준)
+     */
+    public void touch() {
+        lastActivityMillis = System.currentTimeMillis();
+    }
+
+    // F-11: 상대방에게 수를 중계합니다.
+    public void broadcastMove(ClientConnection sender, String moveData) {
+        ClientConnection opponent = opponentOf(sender);
+        if (opponent != null) {
+            send(opponent, moveData);
+        }
+    }
+
+    /**
+     * 바이너리 클라이언트가 보낸 프레임을 상대방에게 중계
+     * @param body opcode 부터 프레임 끝까지 (호출이 끝나면 다시 쓰일 수 있으므로 보관하지 않음)
+     */
+    public void broadcastFrame(ClientConnection sender, ByteBuffer body) {
+        ClientConnection opponent = opponentOf(sender);
+        if (opponent == null) return;
+        if (opponent.isBinary()) {
+            opponent.sendFrame(BinaryProtocol.copy(body));
+        } else {
+            String text = BinaryProtocol.decode(body);
+            if (text != null) {
+                opponent.sendMessage(text);
+            }
+        }
+    }
+
+    /**
+     * 미니게임 시작 기록 (시작 메시지를 중계하기 전에 호출)
+     * 찬스카드는 상대 차례에만 쓸 수 있으므로 보낸 쪽의 차례이거나, 게임이 끝났거나, 상대가 시작한 미니게임이 진행 중이면 거절합니다.
+     * 플레이어마다 찬스카드 수만큼만 받아들이며, 시작한 플레이어가 다시 시작하면 카드를 하나 더 쓴 새 미니게임으로 봅니다.
+     * 서버 보드를 알 수 없게 된 방에서는 차례를 확인할 수 없으므로 횟수만 확인합니다.
+     * @return 받아들였으면 true (중계해도 됨)
+     */
+    public synchronized boolean startMinigame(ClientConnection sender) {
+        int color = colorOf(sender);
+        if (color == 0 || (minigamePlayer != null && minigamePlayer != sender)
+                || minigameStarts[color] >= CHANCE_CARDS
+                || (verified && (model.isGameOver() || model.getCurrentTurn() != opposite(color)))) {
+            return false;
+        }
+        minigameStarts[color]++;
+        minigamePlayer = sender;
+        return true;
+    }
+
+    /**
+     * 진행 중인 미니게임을 끝냄 (결과, 랜덤 수 요청, 종료 메시지를 처리하기 전에 호출)
+     * 시작한 플레이어만, 미니게임 하나에 한 번만 끝낼 수 있으므로 결과를 두 번 적용하거나 상대가 결과를 보낼 수 없습니다.
+     * @return 받아들였으면 true
+     */
+    public synchronized boolean finishMinigame(ClientConnection sender) {
+        if (sender == null || sender != minigamePlayer) return false;
+        minigamePlayer = null;
+        return true;
+    }
+
+    /**
+     * 미니게임 상태 갱신을 상대에게 중계 (텍스트 'MINIGAME_UPDATE json', 진행 중인 미니게임을 시작한 플레이어의 것만)
+     */
+    public void relayMinigameUpdate(ClientConnection sender, String line) {
+        if (sender != minigamePlayer) return;
+        MinigameRelay relay = relayFrom(sender);
+        if (relay != null) {
+            relay.offer(line);
+        }
+    }
+
+    /**
+     * 미니게임 상태 갱신을 상대에게 중계 (바이너리 MINIGAME_UPDATE 프레임, 진행 중인 미니게임을 시작한 플레이어의 것만)
+     * @param body opcode 부터 프레임 끝까지 (보관하지 않음)
+     */
+    public void relayMinigameUpdate(ClientConnection sender, ByteBuffer body) {
+        if (sender != minigamePlayer) return;
+        MinigameRelay relay = relayFrom(sender);
+        if (relay != null) {
+            relay.offer(body);
+        }
+    }
+
+    /**
+     * 보낸 쪽의 대기 중인 미니게임 상태를 바로 보내고 상태 기준을 지움 (미니게임 시작/결과/종료를 중계하기 전에 호출)
+     */
+    public void endMinigameStream(ClientConnection sender) {
+        MinigameRelay relay = relayFrom(sender);
+        if (relay != null) {
+            relay.reset();
+        }
+    }
+
+    /**
+     * F-11: 수를 서버 보드에서 검증하고 적용한 뒤 상대방에게 'MOVE x y 순번' 으로 전송 (기존 클라이언트에게는 'MOVE x y')
+     * 차례가 아니거나 둘 수 없는 곳이면 적용하지 않고 상대에게도 보내지 않으며, 보낸 쪽에 SYNC 를 보냅니다.
+     * SYNC 를 모르는 기존 클라이언트의 수는 그냥 버립니다 (방은 계속 검증하므로 상대의 SYNC_REQUEST 에도 계속 응답함).
+     * 다음 차례가 둘 곳이 없으면 패스하고, 둘 다 없으면 게임이 끝납니다 (클라이언트의 패스 처리와 같음).
+     * @param sq 칸 번호 (y * 8 + x)
+     * @return 이 수로 게임이 끝났으면 true
+     */
+    public synchronized boolean playMove(ClientConnection sender, int sq) {
+        int color = colorOf(sender);
+        if (color == 0) return false;
+        if (!verified) {
+            if (sq >= 0 && sq < 64) {
+                seq++;
+                sendMove(opponentOf(sender), sq);
+            }
+            return false;
+        }
+        if (model.isGameOver() || model.getCurrentTurn() != color
+                || sq < 0 || sq >= 64 || (model.getValidMoveMask() & (1L << sq)) == 0L) {
+            if (sender.acceptsSync()) {
+                sendSync(sender);
+            } else {
+                System.out.println("--- Room " + id + ": dropped move " + sq + " from legacy client " + sender.getUserId() + " ---");
+            }
+            return false;
+        }
+        model.makeMove(sq);
+        if (!model.hasValidMove()) {
+            model.switchTurn();
+            if (!model.hasValidMove()) {
+                model.setGameOver(true);
+            }
+        }
+        seq++;
+        sendMove(opponentOf(sender), sq);
+        return model.isGameOver();
+    }
+
+    /**
+     * 게임이 끝났는지 (서버 보드를 알 수 없는 방이면 클라이언트의 종료 알림을 그대로 믿음)
+     */
+    public synchronized boolean isGameOver() {
+        return !verified || model.isGameOver();
+    }
+
+    /**
+     * 미니게임 결과를 서버 보드에 반영 (finishMinigame 으로 받아들인 결과를 상대에게 중계한 뒤 호출)
+     * 성공이면 상대 돌을 forcedSq 에 강제로 두고 차례를 보낸 쪽으로, 실패면 차례를 상대에게 넘깁니다 (클라이언트와 같음).
+     * forcedSq 가 없거나 상대가 둘 수 없는 곳이면 랜덤 수 요청처럼 서버가 상대의 수를 고릅니다 (상대가 둘 곳이 없을 때만 차례만 넘김).
+     * 클라이언트마다 처리 방식이 조금씩 다르므로 마지막에 두 플레이어 모두에게 SYNC 를 보냅니다.
+     * 다만 SYNC 를 모르는 기존 클라이언트는 자신이 고른 칸에 두었으므로, 서버가 수를 골라야 하면 이후로는 수를 검증하지 않습니다.
+     * @param forcedSq 강제 수 칸 번호, 없으면 음수
+     */
+    public synchronized void applyMinigameResult(ClientConnection sender, boolean success, int forcedSq) {
+        int color = colorOf(sender);
+        if (color == 0 || !verified || model.isGameOver()) return;
+        if (success) {
+            long moves = model.getValidMoveMaskFor(opposite(color));
+            boolean legal = forcedSq >= 0 && forcedSq < 64 && (moves & (1L << forcedSq)) != 0L;
+            if (!legal && moves != 0L && (!player1.acceptsSync() || !player2.acceptsSync())) {
+                stopVerifying("legacy forced move does not match the server board");
+                return;
+            }
+            forceOpponentMove(color, legal ? forcedSq : -1);
+        } else {
+            model.setCurrentTurn(opposite(color));
+        }
+        sendSync(player1);
+        sendSync(player2);
+    }
+
+    /**
+     * 랜덤 수 처리 요청 (미니게임 성공 시, finishMinigame 으로 받아들인 요청만)
+     * 요청한 플레이어의 상대 돌을 서버가 무작위로 두고, 차례를 요청한 플레이어에게 돌려준 뒤 두 플레이어에게 SYNC 를 보냅니다.
+     * 한쪽이라도 SYNC 를 모르는 기존 클라이언트면 예전처럼 상대에게 RANDOM_MOVE_EXECUTED 만 보내 상대가 직접 두게 하고,
+     * 어느 칸에 두었는지 서버가 알 수 없으므로 이후로는 수를 검증하지 않습니다.
+     */
+    public synchronized void executeRandomMove(ClientConnection requester) {
+        int color = colorOf(requester);
+        if (color == 0 || (verified && model.isGameOver())) return;
+        ClientConnection opponent = opponentOf(requester);
+        if (!verified || !requester.acceptsSync() || !opponent.acceptsSync()) {
+            stopVerifying("legacy random move");
+            send(opponent, "RANDOM_MOVE_EXECUTED");
+            return;
+        }
+        forceOpponentMove(color, -1);
+        sendSync(player1);
+        sendSync(player2);
+    }
+
+    /**
+     * 서버 보드를 요청한 플레이어에게 전송 (클라이언트가 상대 수를 적용하지 못했을 때)
+     * 기존 방식 랜덤 수로 서버 보드를 알 수 없게 된 방에서만 응답하지 않습니다 (틀린 보드를 보내지 않음).
+     */
+    public synchronized void sync(ClientConnection requester) {
+        if (verified && colorOf(requester) != 0) {
+            sendSync(requester);
+        }
+    }
+
+    public void startGame() {
+        // 흑돌(Player1)에게는 'START_BLACK opponentId', 백돌(Player2)에게는 'START_WHITE opponentId' 메시지를 보냅니다.
+        // 바이너리 클라이언트에게는 상대도 바이너리인지 함께 알려 압축 미니게임 상태를 보낼 수 있게 합니다.
+        if (player1.isBinary()) {
+            player1.sendFrame(BinaryProtocol.start(true, player2.isBinary(), player2.getUserId()));
+        } else {
+            player1.sendMessage("START_BLACK " + player2.getUserId());
+        }
+        if (player2.isBinary()) {
+            player2.sendFrame(BinaryProtocol.start(false, player1.isBinary(), player1.getUserId()));
+        } else {
+            player2.sendMessage("START_WHITE " + player1.getUserId());
+        }
+    }
+
+    /**
+     * 두 연결에서 방을 떼어내고 아직 연결된 쪽에 'ROOM_CLOSED reason' 을 보냄 (RoomRegistry.close 에서만 호출)
+     */
+    void close(String reason) {
+        toPlayer1.close();
+        toPlayer2.close();
+        release(player1, reason);
+        release(player2, reason);
+    }
+
+    /**
+     * 두 연결을 모두 끊음 (유휴 방 정리, 게임 종료)
+     */
+    void disconnectPlayers() {
+        player1.disconnect();
+        player2.disconnect();
+    }
+
+    private void release(ClientConnection player, String reason) {
+        if (player.getRoom() == this) {
+            player.setRoom(null);
+        }
+        if (player.isValid()) {
+            send(player, "ROOM_CLOSED " + reason);
+        }
+    }
+
+    /**
+     * 서버 보드를 클라이언트와 맞출 수 없게 되었을 때 호출 (이후로는 검증 없이 중계만 함)
+     */
+    private void stopVerifying(String reason) {
+        if (verified) {
+            verified = false;
+            System.out.println("--- Room " + id + ": " + reason + ", relaying moves without validation ---");
+        }
+    }
+
+    /**
+     * color 의 상대 돌을 sq 에 강제로 두고 차례를 color 에게 돌려줌
+     * sq 가 음수면 상대가 둘 수 있는 곳 중 무작위로 고르며, 상대가 둘 곳이 없으면 차례만 돌려줍니다.
+     */
+    private void forceOpponentMove(int color, int sq) {
+        long moves = model.getValidMoveMaskFor(opposite(color));
+        if (moves == 0L) {
+            model.setCurrentTurn(color);
+            return;
+        }
+        if (sq < 0) {
+            for (int skip = ThreadLocalRandom.current().nextInt(Long.bitCount(moves)); skip > 0; skip--) {
+                moves &= moves - 1;
+            }
+            sq = Long.numberOfTrailingZeros(moves);
+        }
+        forceMove(opposite(color), color, sq);
+    }
+
+    /**
+     * mover 색으로 sq 에 두고 차례를 returnTurn 으로 돌려줌 (둘 수 없는 곳이면 보드 변화 없음)
+     */
+    private void forceMove(int mover, int returnTurn, int sq) {
+        int before = model.getCurrentTurn();
+        model.setCurrentTurn(mover);
+        if (model.placePieceAndFlip(sq & 7, sq >>> 3)) {
+            model.setCurrentTurn(returnTurn);
+            seq++;
+        } else {
+            model.setCurrentTurn(before);
+        }
+    }
+
+    private void sendMove(ClientConnection to, int sq) {
+        if (to.isBinary()) {
+            to.sendFrame(BinaryProtocol.move(sq, seq));
+        } else if (to.acceptsSync()) {
+            to.sendMessage("MOVE " + (sq & 7) + " " + (sq >>> 3) + " " + seq);
+        } else {
+            to.sendMessage("MOVE " + (sq & 7) + " " + (sq >>> 3));
+        }
+    }
+
+    /**
+     * 서버 보드 전송 (SYNC 를 모르는 기존 클라이언트에게는 보내지 않음)
+     */
+    private void sendSync(ClientConnection to) {
+        if (!to.acceptsSync()) return;
+        long black = model.getBlackBits();
+        long white = model.getWhiteBits();
+        int turn = model.getCurrentTurn();
+        if (to.isBinary()) {
+            to.sendFrame(BinaryProtocol.sync(seq, black, white, turn));
+        } else {
+            to.sendMessage("SYNC " + seq + " " + Long.toHexString(black) + " " + Long.toHexString(white) + " " + turn);
+        }
+    }
+
+    private int colorOf(ClientConnection player) {
+        return player == player1 ? BLACK : player == player2 ? WHITE : 0;
+    }
+
+    private static int opposite(int color) {
+        return color == BLACK ? WHITE : BLACK;
+    }
+
+    private ClientConnection opponentOf(ClientConnection player) {
+        return player == player1 ? player2 : player == player2 ? player1 : null;
+    }
+
+    private MinigameRelay relayFrom(ClientConnection sender) {
+        return sender == player1 ? toPlayer2 : sender == player2 ? toPlayer1 : null;
+    }
+
+    /**
+     * 텍스트 메시지를 받는 쪽 프로토콜로 전송 (바이너리로 표현할 수 없는 메시지는 버림)
+     */
+    static void send(ClientConnection to, String message) {
+        if (!to.isBinary()) {
+            to.sendMessage(message);
+            return;
+        }
+        ByteBuffer frame = BinaryProtocol.encode(message);
+        if (frame != null) {
+            to.sendFrame(frame);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.network;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 매칭 서비스: 준비된 클라이언트를 도착 순서대로 두 명씩 묶어 GameRoom 을 만듦
+ * 연결을 처리하는 스레드는 USER_ID 를 받은 뒤 ready() 로 대기열에 넣기만 하고 바로 돌아가며,
+ * 실제 매칭은 전용 매칭 스레드 하나가 수행하므로 접속 수락 경로에는 대기나 잠금이 없습니다.
+ * 대기 중에 연결이 끊긴 클라이언트는 매칭 시점에 건너뜁니다.
+ */
+class MatchmakingService {
+
+    private final LinkedBlockingQueue<ClientConnection> queue = new LinkedBlockingQueue<>();
+    private final Set<ClientConnection> waiting = ConcurrentHashMap.newKeySet(); // 대기열 중복 등록 방지
+    private final RoomRegistry rooms;
+    private Thread matcher;
+
+    /**
+     * @param rooms 매칭된 방을 만들고 등록할 목록
+     */
+    MatchmakingService(RoomRegistry rooms) {
+        this.rooms = rooms;
+    }
+
+    /**
+     * 매칭 스레드 시작 (여러 번 호출해도 한 번만 시작)
+     */
+    synchronized void start() {
+        if (matcher != null) return;
+        matcher = new Thread(this::matchLoop, "matchmaker");
+        matcher.setDaemon(true);
+        matcher.start();
+    }
+
+    /**
+     * 매칭 대기열에 등록 (이미 대기 중이거나 방이 있으면 무시)
+     */
+    void ready(ClientConnection client) {
+        if (client.getRoom() != null || !waiting.add(client)) return;
+        queue.add(client);
+        System.out.println("Client waiting for opponent. Current queue: " + waiting.size());
+    }
+
+    /**
+     * 대기열에서 제거 (연결 종료 시)
+     */
+    void cancel(ClientConnection client) {
+        if (waiting.remove(client)) {
+            queue.remove(client);
+        }
+    }
+
+    public int getWaitingCount() {
+        return waiting.size();
+    }
+
+    private void matchLoop() {
+        ClientConnection first = null;
+        try {
+            while (true) {
+                if (first == null || !first.isValid()) {
+                    first = queue.take();
+                    continue; // 연결 상태를 다시 확인
+                }
+                ClientConnection second = queue.take();
+                if (!second.isValid()) continue;
+                if (!first.isValid()) {
+                    // 두 번째를 기다리는 동안 첫 번째가 끊김: 두 번째가 다음 상대를 기다림
+                    first = second;
+                    continue;
+                }
+                waiting.remove(first);
+                waiting.remove(second);
+                GameRoom room = rooms.create(first, second);
+                System.out.println("--- Match Found: Room " + room.getId() + " created. ---");
+                room.startGame();
+                first = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.network;
+
+import org.example.minigame.network.MinigameDelta;
+import org.example.service.ConfigService;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방 안에서 한 플레이어에게 가는 미니게임 상태 중계 (GameRoom 이 받는 플레이어마다 하나씩 가짐)
+ * 받은 상태는 바로 보내지 않고 간격(network.minigame.updateHz)마다 한 번, 그 사이의 마지막 상태만 보냅니다.
+ * 압축 상태는 보낸 쪽의 키프레임에 델타를 적용해 현재 상태를 유지하고, 받는 쪽에 마지막으로 보낸 상태와의 델타를 다시 만들어 보내므로
+ * 중간 상태를 버려도 받는 쪽 상태가 어긋나지 않습니다.
+ */
+class MinigameRelay {
+
+    private static final long INTERVAL_MILLIS = 1000L / ConfigService.getMinigameUpdateRate();
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "minigame-relay");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final ClientConnection to;
+    // 아래는 모두 this 로 보호
+    private String pendingJson;       // 마지막 JSON 상태 (MINIGAME_UPDATE 줄 전체)
+    private byte[] state;             // 보낸 쪽의 현재 압축 상태 (키프레임에 델타를 적용)
+    private byte[] delivered;         // 받는 쪽에 마지막으로 보낸 압축 상태
+    private boolean keyframePending;  // 보낸 쪽이 키프레임을 보냄 (받는 쪽에도 키프레임으로 보냄)
+    private boolean scheduled;
+    private boolean closed;
+    private long lastFlushMillis;
+
+    MinigameRelay(ClientConnection to) {
+        this.to = to;
+    }
+
+    /**
+     * 텍스트 클라이언트가 보낸 'MINIGAME_UPDATE json' 줄
+     */
+    synchronized void offer(String line) {
+        if (closed) return;
+        pendingJson = line;
+        schedule();
+    }
+
+    /**
+     * 바이너리 클라이언트가 보낸 MINIGAME_UPDATE 프레임
+     * @param body opcode 부터 프레임 끝까지 (position/limit 은 바뀌지 않음, 보관하지 않음)
+     */
+    synchronized void offer(ByteBuffer body) {
+        int p = body.position();
+        if (closed || body.remaining() < 2) return;
+        byte encoding = body.get(p + 1);
+        if (encoding == BinaryProtocol.STATE_JSON) {
+            String line = BinaryProtocol.decode(body);
+            if (line != null) {
+                offer(line);
+            }
+            return;
+        }
+        if (!to.isBinary()) return; // 텍스트 클라이언트는 압축 상태를 해석할 수 없음 (보내는 쪽도 보내지 않음)
+        if (encoding == BinaryProtocol.STATE_COMPACT) {
+            state = new byte[body.remaining() - 2];
+            body.get(p + 2, state);
+            keyframePending = true;
+        } else if (encoding == BinaryProtocol.STATE_DELTA) {
+            // 키프레임 없이 온 델타나 맞지 않는 델타는 버림 (보내는 쪽이 주기적으로 키프레임을 보냄)
+            if (state == null || !MinigameDelta.apply(state, body.slice(p + 2, body.remaining() - 2))) return;
+        } else {
+            return;
+        }
+        schedule();
+    }
+
+    /**
+     * 대기 중인 상태를 바로 보내고 압축 상태 기준을 지움 (미니게임 시작/결과/종료를 중계하기 전에 호출해 순서를 지킴)
+     */
+    synchronized void reset() {
+        flush();
+        state = null;
+        delivered = null;
+        keyframePending = false;
+    }
+
+    /**
+     * 대기 중인 상태를 버리고 이후 상태는 받지 않음 (방을 닫을 때)
+     */
+    synchronized void close() {
+        closed = true;
+        pendingJson = null;
+        state = null;
+        delivered = null;
+    }
+
+    private void schedule() {
+        if (scheduled) return;
+        scheduled = true;
+        long delay = Math.max(0, lastFlushMillis + INTERVAL_MILLIS - System.currentTimeMillis());
+        scheduler.schedule(this::scheduledFlush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void scheduledFlush() {
+        scheduled = false;
+        if (!closed) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        lastFlushMillis = System.currentTimeMillis();
+        if (pendingJson != null) {
+            GameRoom.send(to, pendingJson);
+            pendingJson = null;
+        }
+        if (state == null) return;
+        if (keyframePending || delivered == null) {
+            send(BinaryProtocol.STATE_COMPACT, state);
+            delivered = state.clone();
+            keyframePending = false;
+        } else {
+            byte[] delta = MinigameDelta.diff(delivered, state);
+            if (delta != null && !MinigameDelta.isEmpty(delta)) {
+                send(BinaryProtocol.STATE_DELTA, delta);
+                System.arraycopy(state, 0, delivered, 0, state.length);
+            }
+        }
+    }
+
+    private void send(byte encoding, byte[] data) {
+        ByteBuffer frame = BinaryProtocol.minigameUpdate(encoding, data);
+        if (frame != null) {
+            to.sendFrame(frame);
+        }
+    }
+}
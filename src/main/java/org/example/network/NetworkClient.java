@@ -2,27 +2,44 @@ package org.example.network;
 
 import org.example.ui.GameView;
 import org.example.service.ConfigService;
+import org.example.minigame.network.MinigameDelta;
 import org.example.minigame.network.MinigameProtocol;
+import org.example.minigame.network.MinigameStateStreamer;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 클라이언트 네트워크 스레드: 서버와 통신하며 턴/미니게임 정보를 전달한다.
+ * 설정에서 바이너리 프로토콜을 켜면 USER_ID_BIN 으로 접속하고, 서버가 PROTO_BIN 으로 응답한 뒤부터 프레임으로 주고받는다.
+ * 보내는 쪽은 기존 텍스트 메시지를 그대로 만들고 여기서 프레임으로 바꾸며, 받은 프레임은 버퍼 하나를 재사용해 그 자리에서 해석한다.
+ * 서버가 수를 검증하므로 상대 수에는 순번이 붙고, 보드가 어긋나면 서버가 보낸 SYNC 로 보드를 맞춘다.
+ * 텍스트 모드에서는 USER_ID 전에 'PROTO_TXT 1' 을 보내 순번/SYNC 를 받으며, 이를 보내지 않는 기존 클라이언트는 예전 형식으로 받는다.
+ * 미니게임 상태는 MinigameStateStreamer 가 키프레임/델타로 보내며, 받은 델타는 마지막 키프레임에 적용해 전체 상태로 넘긴다.
  */
-public class NetworkClient extends Thread {
+public class NetworkClient extends Thread implements MinigameStateStreamer.Sink {
 
     private String serverIp;
     private int serverPort;
 
     private Socket socket;
-    private PrintWriter out;
-    private BufferedReader in;
+    private OutputStream out; // this 로 보호
+    private DataInputStream in;
     private final GameView gameView;
     private final String userId;
+    private volatile boolean binary;      // 서버가 바이너리 프로토콜을 수락함
+    private volatile boolean peerBinary;  // 상대도 바이너리 (압축 미니게임 상태 전송 가능)
+    private int lastSeq = -1;             // 마지막으로 받은 수/SYNC 순번 (수신 스레드에서만 사용)
+    private byte[] minigameState;         // 받은 미니게임 압축 상태 (델타 적용 기준, 수신 스레드에서만 사용)
+    // 수신 버퍼 (줄/프레임 공용, 프레임 최대 길이)
+    private final byte[] buffer = new byte[BinaryProtocol.MAX_BODY_BYTES];
+    private final ByteBuffer frameView = ByteBuffer.wrap(buffer);
 
     public NetworkClient(GameView gameView, String userId, String serverIp, int serverPort) {
         this.gameView = gameView;
@@ -42,9 +59,15 @@ public class NetworkClient extends Thread {
     public boolean connect() {
         try {
             socket = new Socket(serverIp, serverPort);
-            out = new PrintWriter(socket.getOutputStream(), true);
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            out.println("USER_ID " + userId);
+            out = new BufferedOutputStream(socket.getOutputStream());
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            if (ConfigService.isBinaryProtocolEnabled()) {
+                sendLine(BinaryProtocol.HELLO + " " + BinaryProtocol.VERSION + " " + userId);
+            } else {
+                // 순번이 붙은 MOVE 와 SYNC 를 이해함을 먼저 알림 (기존 서버는 무시)
+                sendLine("PROTO_TXT 1");
+                sendLine("USER_ID " + userId);
+            }
             System.out.println("Connected to server (" + serverIp + ":" + serverPort + "). Waiting for opponent...");
             return true;
         } catch (IOException e) {
@@ -54,78 +77,118 @@ public class NetworkClient extends Thread {
     }
 
     public void sendMove(int x, int y) {
-        if (out != null) {
-            out.println("MOVE " + x + " " + y);
+        if (binary && x >= 0 && x < 8 && y >= 0 && y < 8) {
+            ByteBuffer frame = BinaryProtocol.frame(BinaryProtocol.OP_MOVE, 1).put((byte) (y * 8 + x)).flip();
+            write(frame.array(), 0, frame.limit());
+        } else {
+            send("MOVE " + x + " " + y);
         }
     }
 
     public void sendMinigameStart(String message) {
-        if (out != null) {
-            out.println(message);
-        }
+        send(message);
     }
 
     public void sendMinigameResult(String message) {
-        if (out != null) {
-            out.println(message);
-        }
+        send(message);
     }
 
     public void sendMinigameUpdate(String message) {
-        if (out != null) {
-            out.println(message);
+        send(message);
+    }
+
+    @Override
+    public boolean acceptsCompactState() {
+        return binary && peerBinary;
+    }
+
+    @Override
+    public void sendStateJson(String stateJson) {
+        send(MinigameProtocol.createUpdateMessage(stateJson));
+    }
+
+    @Override
+    public void sendKeyframe(byte[] state) {
+        writeMinigameFrame(BinaryProtocol.STATE_COMPACT, state);
+    }
+
+    @Override
+    public void sendDelta(byte[] delta) {
+        writeMinigameFrame(BinaryProtocol.STATE_DELTA, delta);
+    }
+
+    private void writeMinigameFrame(byte encoding, byte[] state) {
+        ByteBuffer frame = BinaryProtocol.minigameUpdate(encoding, state);
+        if (frame != null) {
+            write(frame.array(), 0, frame.limit());
         }
     }
 
     public void requestRandomMove() {
-        if (out != null) {
-            out.println("RANDOM_MOVE");
+        send("RANDOM_MOVE");
+    }
+
+    /**
+     * 서버 보드 요청 (상대 수를 적용하지 못해 보드가 어긋났을 때, 서버가 SYNC 로 응답)
+     */
+    public void requestSync() {
+        send("SYNC_REQUEST");
+    }
+
+    /**
+     * 게임 종료 알림 (서버가 방을 정리함, 여러 번 보내도 무방)
+     */
+    public void sendGameOver() {
+        send("GAME_OVER");
+    }
+
+    /**
+     * 텍스트 메시지 전송 (바이너리 모드에서는 같은 뜻의 프레임으로 바꿔 보냄)
+     */
+    private void send(String message) {
+        if (!binary) {
+            sendLine(message);
+            return;
+        }
+        ByteBuffer frame = BinaryProtocol.encode(message);
+        if (frame != null) {
+            write(frame.array(), 0, frame.limit());
+        }
+    }
+
+    private void sendLine(String line) {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        write(bytes, 0, bytes.length);
+    }
+
+    private synchronized void write(byte[] bytes, int offset, int length) {
+        if (out == null) return;
+        try {
+            out.write(bytes, offset, length);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to send to server: " + e.getMessage());
         }
     }
 
     @Override
     public void run() {
         try {
+            // 텍스트 모드: PROTO_BIN 응답을 받으면 그 뒤부터 프레임으로 읽음
             String serverResponse;
-            while ((serverResponse = in.readLine()) != null) {
-                if (serverResponse.startsWith("START_")) {
-                    String[] parts = serverResponse.split(" ", 2);
-                    String color = parts[0].substring(6);
-                    if (parts.length > 1 && !parts[1].isEmpty()) {
-                        gameView.setOpponentUserId(parts[1]);
-                    }
-                    gameView.setPlayerColor(color);
+            while (!binary && (serverResponse = readLine()) != null) {
+                if (serverResponse.startsWith(BinaryProtocol.ACCEPT + " ")) {
+                    binary = true;
+                } else {
+                    handleLine(serverResponse);
                 }
-                else if (serverResponse.startsWith("MOVE")) {
-                    String[] parts = serverResponse.split(" ");
-                    if (parts.length == 3) {
-                        int x = safeParseInt(parts[1]);
-                        int y = safeParseInt(parts[2]);
-                        gameView.processOpponentMove(x, y);
-                    }
-                }
-                else if (serverResponse.startsWith(MinigameProtocol.MINIGAME_START)) {
-                    String[] parts = serverResponse.split(" ");
-                    if (parts.length >= 2) {
-                        String gameType = parts[1];
-                        gameView.showMinigameSpectator(gameType);
-                    }
-                }
-                else if (serverResponse.startsWith(MinigameProtocol.MINIGAME_UPDATE)) {
-                    String json = serverResponse.substring(MinigameProtocol.MINIGAME_UPDATE.length()).trim();
-                    gameView.onMinigameUpdate(json);
-                }
-                else if (serverResponse.startsWith(MinigameProtocol.MINIGAME_RESULT)) {
-                    String[] parts = serverResponse.split(" ");
-                    boolean success = parts.length > 1 && "SUCCESS".equalsIgnoreCase(parts[1]);
-                    int score = parts.length > 2 ? safeParseInt(parts[2]) : 0;
-                    long time = parts.length > 3 ? safeParseInt(parts[3]) : 0;
-                    int x = parts.length > 4 ? safeParseInt(parts[4]) : -1;
-                    int y = parts.length > 5 ? safeParseInt(parts[5]) : -1;
-                    gameView.handleMinigameResultFromNetwork(success, score, time, x, y);
-                }
-                else if (serverResponse.equals("RANDOM_MOVE_EXECUTED")) {
-                    gameView.handleRandomMove();
+            }
+            while (binary) {
+                int length = in.readUnsignedShort();
+                in.readFully(buffer, 0, length);
+                frameView.clear().limit(length);
+                if (length > 0) {
+                    handleFrame(frameView);
                 }
             }
         } catch (IOException e) {
@@ -137,6 +200,165 @@ public class NetworkClient extends Thread {
         }
     }
 
+    private void handleLine(String serverResponse) {
+        if (serverResponse.startsWith("START_")) {
+            String[] parts = serverResponse.split(" ", 2);
+            String color = parts[0].substring(6);
+            if (parts.length > 1 && !parts[1].isEmpty()) {
+                gameView.setOpponentUserId(parts[1]);
+            }
+            gameView.setPlayerColor(color);
+        }
+        else if (serverResponse.startsWith("MOVE")) {
+            String[] parts = serverResponse.split(" ");
+            if (parts.length >= 3) {
+                int x = safeParseInt(parts[1]);
+                int y = safeParseInt(parts[2]);
+                onOpponentMove(x, y, parts.length > 3 ? safeParseInt(parts[3]) : -1);
+            }
+        }
+        else if (serverResponse.startsWith("SYNC ")) {
+            String[] parts = serverResponse.split(" ");
+            if (parts.length >= 5) {
+                try {
+                    onSync(safeParseInt(parts[1]), Long.parseUnsignedLong(parts[2], 16),
+                            Long.parseUnsignedLong(parts[3], 16), safeParseInt(parts[4]));
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        else if (serverResponse.startsWith(MinigameProtocol.MINIGAME_START)) {
+            String[] parts = serverResponse.split(" ");
+            if (parts.length >= 2) {
+                String gameType = parts[1];
+                gameView.showMinigameSpectator(gameType);
+            }
+        }
+        else if (serverResponse.startsWith(MinigameProtocol.MINIGAME_UPDATE)) {
+            String json = serverResponse.substring(MinigameProtocol.MINIGAME_UPDATE.length()).trim();
+            gameView.onMinigameUpdate(json);
+        }
+        else if (serverResponse.startsWith(MinigameProtocol.MINIGAME_RESULT)) {
+            String[] parts = serverResponse.split(" ");
+            boolean success = parts.length > 1 && "SUCCESS".equalsIgnoreCase(parts[1]);
+            int score = parts.length > 2 ? safeParseInt(parts[2]) : 0;
+            long time = parts.length > 3 ? safeParseInt(parts[3]) : 0;
+            int x = parts.length > 4 ? safeParseInt(parts[4]) : -1;
+            int y = parts.length > 5 ? safeParseInt(parts[5]) : -1;
+            gameView.handleMinigameResultFromNetwork(success, score, time, x, y);
+        }
+        else if (serverResponse.equals("RANDOM_MOVE_EXECUTED")) {
+            gameView.handleRandomMove();
+        }
+        else if (serverResponse.startsWith("ROOM_CLOSED")) {
+            String reason = serverResponse.length() > 12 ? serverResponse.substring(12) : "";
+            gameView.handleRoomClosed(reason);
+        }
+    }
+
+    /**
+     * 프레임 하나 처리 (frame: opcode 부터 프레임 끝까지, 수신 버퍼를 그대로 가리킴)
+     * opcode 마다 길이를 먼저 확인하고 짧은 프레임은 무시한다 (서버의 BinaryProtocol.decode 와 같은 기준).
+     */
+    private void handleFrame(ByteBuffer frame) {
+        if (frame.remaining() < 1) return;
+        switch (frame.get()) {
+            case BinaryProtocol.OP_MOVE -> {
+                if (frame.remaining() < 1) return;
+                int sq = frame.get();
+                if (sq < 0 || sq >= 64) return;
+                int seq = frame.remaining() >= 2 ? frame.getShort() & 0xFFFF : -1;
+                onOpponentMove(sq & 7, sq >>> 3, seq);
+            }
+            case BinaryProtocol.OP_SYNC -> {
+                if (frame.remaining() < 19) return;
+                onSync(frame.getShort() & 0xFFFF, frame.getLong(), frame.getLong(), frame.get());
+            }
+            case BinaryProtocol.OP_START -> {
+                if (frame.remaining() < 2) return;
+                boolean black = frame.get() == 1;
+                peerBinary = frame.get() != 0;
+                if (frame.hasRemaining()) {
+                    gameView.setOpponentUserId(BinaryProtocol.utf8(frame, frame.position(), frame.remaining()));
+                }
+                gameView.setPlayerColor(black ? "BLACK" : "WHITE");
+            }
+            case BinaryProtocol.OP_MINIGAME_START -> {
+                if (frame.remaining() < 1) return;
+                minigameState = null;
+                String gameType = BinaryProtocol.minigameType(frame.get());
+                if (gameType != null) {
+                    gameView.showMinigameSpectator(gameType);
+                }
+            }
+            case BinaryProtocol.OP_MINIGAME_UPDATE -> {
+                if (frame.remaining() < 1) return;
+                byte encoding = frame.get();
+                if (encoding == BinaryProtocol.STATE_JSON) {
+                    gameView.onMinigameUpdate(BinaryProtocol.utf8(frame, frame.position(), frame.remaining()));
+                } else if (encoding == BinaryProtocol.STATE_COMPACT) {
+                    minigameState = new byte[frame.remaining()];
+                    frame.get(minigameState);
+                    gameView.onMinigameState(minigameState.clone()); // UI 스레드로 넘기므로 복사
+                } else if (encoding == BinaryProtocol.STATE_DELTA) {
+                    // 키프레임을 아직 못 받았거나 맞지 않는 델타는 버림 (다음 키프레임에서 다시 맞춤)
+                    if (minigameState != null && MinigameDelta.apply(minigameState, frame)) {
+                        gameView.onMinigameState(minigameState.clone());
+                    }
+                }
+            }
+            case BinaryProtocol.OP_MINIGAME_RESULT -> {
+                if (frame.remaining() < 10) return;
+                boolean success = frame.get() != 0;
+                int score = frame.getInt();
+                int time = frame.getInt();
+                int sq = frame.get();
+                gameView.handleMinigameResultFromNetwork(success, score, time,
+                        sq < 0 ? -1 : sq & 7, sq < 0 ? -1 : sq >>> 3);
+            }
+            case BinaryProtocol.OP_RANDOM_MOVE_EXECUTED -> gameView.handleRandomMove();
+            case BinaryProtocol.OP_ROOM_CLOSED -> {
+                if (frame.remaining() < 1) return;
+                gameView.handleRoomClosed(BinaryProtocol.closeReason(frame.get()));
+            }
+            default -> {
+                // 알 수 없는 opcode 는 무시 (새 버전 서버와의 호환)
+            }
+        }
+    }
+
+    /**
+     * 상대 수 처리 (이미 받은 순번 이하면 중복으로 보고 무시, 순번이 없으면 예전 서버)
+     */
+    private void onOpponentMove(int x, int y, int seq) {
+        if (seq >= 0) {
+            if (seq <= lastSeq) return;
+            lastSeq = seq;
+        }
+        gameView.processOpponentMove(x, y);
+    }
+
+    private void onSync(int seq, long black, long white, int turn) {
+        lastSeq = seq;
+        gameView.applyServerBoard(black, white, turn);
+    }
+
+    /**
+     * 줄 하나 읽기 (텍스트 모드, 끝의 \r 제거, 스트림이 끝나면 null)
+     */
+    private String readLine() throws IOException {
+        int n = 0;
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                return n > 0 ? new String(buffer, 0, n, StandardCharsets.UTF_8) : null;
+            }
+            if (n == buffer.length) throw new IOException("Line too long");
+            buffer[n++] = (byte) b;
+        }
+        if (n > 0 && buffer[n - 1] == '\r') n--;
+        return new String(buffer, 0, n, StandardCharsets.UTF_8);
+    }
+
     private int safeParseInt(String value) {
         try {
             return Integer.parseInt(value);
@@ -3,182 +3,444 @@ package org.example.network;
 import java.io.*;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.example.service.ConfigService;
 
 /**
  * F-10, F-11: 온라인 대전을 위한 서버 클래스 (백엔드 역할).
+ * 연결마다 스레드 하나를 쓰는 블로킹 방식입니다. 플랫폼 스레드 풀(10개) 또는 연결마다 가상 스레드(Java 21)로 실행할 수 있습니다.
+ * 매칭은 MatchmakingService 의 전용 스레드가 처리하므로 접속 수락 루프는 대기 없이 바로 다음 접속을 받습니다.
+ * 매칭, 메시지 처리, GameRoom 은 두 방식이 공유합니다.
+ * 클라이언트는 텍스트 줄 프로토콜 또는 USER_ID_BIN 으로 협상한 바이너리 프레임 프로토콜(BinaryProtocol)을 사용할 수 있습니다.
+ * 보내는 메시지는 연결마다 대기열에 쌓아 쓰기 스레드가 모아서 보내므로, 느린 클라이언트가 상대의 읽기 스레드를 막지 않습니다.
  */
 public class NetworkServer {
 
     private static final int PORT = ConfigService.getServerPort();
-    private static List<ClientHandler> waitingClients = new ArrayList<>();
-    private static List<GameRoom> activeRooms = new ArrayList<>();
+    private static final int MAX_LINE_BYTES = 64 * 1024; // 한 줄 최대 길이 (넘으면 연결 종료)
+    // 연결당 보내지 못한 메시지 최대 크기 (넘으면 연결 종료, 블로킹/NIO 공통)
+    static final int OUTBOUND_LIMIT_BYTES = ConfigService.getOutboundQueueLimitBytes();
+    // 진행 중인 방 목록 (연결 종료/게임 종료/유휴 시 제거)
+    static final RoomRegistry rooms = new RoomRegistry();
+    // USER_ID 를 받은 클라이언트를 두 명씩 묶는 매칭 서비스 (블로킹/NIO 공통)
+    static final MatchmakingService matchmaking = new MatchmakingService(rooms);
     // 쓰레드 풀을 사용하여 다중 접속 처리
-    private static ExecutorService pool = Executors.newFixedThreadPool(10);
+    private static ExecutorService pool;
+    // 연결별 쓰기 대기열을 비우는 스레드 (보낼 메시지가 있을 때만 사용)
+    private static ExecutorService writers;
 
     public static void main(String[] args) {
-        System.out.println("Othello Game Server is running on port " + PORT + "...");
+        start(false);
+    }
+
+    /**
+     * 서버 실행 (호출한 스레드에서 접속을 받으며 반환하지 않음)
+     * @param virtualThreads true 이면 연결마다 가상 스레드, false 이면 플랫폼 스레드 10개 풀
+     */
+    public static void start(boolean virtualThreads) {
+        pool = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(10);
+        writers = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newCachedThreadPool();
+        startServices();
+        System.out.println("Othello Game Server is running on port " + PORT
+                + (virtualThreads ? " (virtual threads)" : "") + "...");
         try (ServerSocket serverSocket = new ServerSocket(PORT)) {
             while (true) {
                 // F-10: 클라이언트의 연결 요청을 대기
                 Socket clientSocket = serverSocket.accept();
                 System.out.println("New client connected: " + clientSocket.getInetAddress().getHostAddress());
 
-                ClientHandler newClient = new ClientHandler(clientSocket);
-                pool.execute(newClient);
-
-                matchPlayers(newClient);
+                // 매칭은 핸들러가 USER_ID 를 받은 뒤 요청
+                pool.execute(new ClientHandler(clientSocket));
             }
         } catch (IOException e) {
             System.err.println("Server exception: " + e.getMessage());
             // 서버 종료 시 풀도 종료
             pool.shutdown();
+            writers.shutdown();
         }
     }
 
     /**
-     * F-10: 매칭 로직 (아주 간단한 1:1 매칭)
+     * 매칭 스레드와 유휴 방 정리 스레드 시작 (블로킹/NIO 공통, 여러 번 호출해도 한 번만 시작)
      */
-    private static synchronized void matchPlayers(ClientHandler newClient) {
-        try {
-            // 쓰레드가 완전히 시작될 때까지 잠시 대기
-            Thread.sleep(500);
-        } catch (InterruptedException ignored) {}
-
-        if (newClient.isValid() && !waitingClients.contains(newClient)) {
-            if (!waitingClients.isEmpty()) {
-                ClientHandler player1 = waitingClients.remove(0);
-                GameRoom room = new GameRoom(player1, newClient);
-                activeRooms.add(room);
-                System.out.println("--- Match Found: Room " + room.getId() + " created. ---");
-                room.startGame();
-            } else {
-                waitingClients.add(newClient);
-                System.out.println("Client waiting for opponent. Current queue: 1");
-            }
+    static void startServices() {
+        matchmaking.start();
+        rooms.startReaper(ConfigService.getRoomIdleTimeoutSeconds() * 1000L);
+    }
+
+    /**
+     * 연결이 끊긴 클라이언트 정리: 매칭 대기열에서 빼고, 방이 있으면 닫아 상대에게 알림 (블로킹/NIO 공통)
+     */
+    static void onDisconnect(ClientConnection client) {
+        matchmaking.cancel(client);
+        GameRoom room = client.getRoom();
+        if (room != null) {
+            rooms.close(room, "LEFT");
         }
     }
 
     /**
-     * 게임 방 관리 클래스.
+     * 클라이언트가 보낸 한 줄 처리 (블로킹/NIO 공통)
      */
-    private static class GameRoom {
-        private static int nextRoomId = 1;
-        private final int id;
-        private ClientHandler player1; // Black
-        private ClientHandler player2; // White
+    static void handleMessage(ClientConnection client, String inputLine) {
+        GameRoom room = client.getRoom();
+        if (inputLine.startsWith("USER_ID ")) {
+            // 사용자 ID 수신
+            client.setUserId(inputLine.substring(8));
+            System.out.println("User ID received: " + client.getUserId());
+            // F-10: 사용자 ID를 받은 클라이언트만 매칭 대기열에 등록
+            matchmaking.ready(client);
+        } else if (inputLine.startsWith("PROTO_TXT ")) {
+            // 텍스트 프로토콜 버전: PROTO_TXT <버전> (USER_ID 보다 먼저 보냄, 1 이상이면 순번/SYNC 를 이해함)
+            // 기존 서버는 방 밖에서 모르는 줄을 무시하므로 새 클라이언트는 어느 서버에나 보낼 수 있음
+            try {
+                if (Integer.parseInt(inputLine.substring(10).trim()) >= 1) {
+                    client.enableSync();
+                }
+            } catch (NumberFormatException ignored) {}
+        } else if (inputLine.startsWith(BinaryProtocol.HELLO + " ")) {
+            // 바이너리 프로토콜 요청: USER_ID_BIN <버전> <사용자 ID>
+            String[] parts = inputLine.split(" ", 3);
+            int version = 0;
+            try {
+                version = Math.min(Integer.parseInt(parts[1]), BinaryProtocol.VERSION);
+            } catch (NumberFormatException ignored) {}
+            if (parts.length < 3 || version < 1 || client.isBinary()) return;
+            client.setUserId(parts[2]);
+            System.out.println("User ID received: " + client.getUserId() + " (binary v" + version + ")");
+            client.sendMessage(BinaryProtocol.ACCEPT + " " + version);
+            client.enableBinary();
+            matchmaking.ready(client);
+        } else if (room != null) {
+            room.touch();
+            if (inputLine.startsWith("MOVE ")) {
+                // F-11: 받은 수를 서버 보드에서 검증한 뒤 상대방에게 중계합니다.
+                String[] parts = inputLine.split(" ");
+                int sq = parts.length >= 3 ? parseSquare(parts[1], parts[2]) : -1;
+                if (room.playMove(client, sq)) {
+                    closeFinishedGame(room);
+                }
+            } else if (inputLine.equals("SYNC_REQUEST")) {
+                room.sync(client);
+            } else if (inputLine.equals("GAME_OVER")) {
+                // 게임 종료 알림: 서버 보드도 끝났을 때만 방을 닫음 (보통은 마지막 수에서 서버가 먼저 닫음)
+                if (room.isGameOver()) {
+                    closeFinishedGame(room);
+                }
+            } else if (inputLine.startsWith("MINIGAME_UPDATE")) {
+                // 상태 갱신은 간격마다 마지막 상태만 중계
+                room.relayMinigameUpdate(client, inputLine);
+            } else if (inputLine.startsWith("MINIGAME_RESULT")) {
+                // 남은 상태와 결과를 중계한 뒤 강제 수/차례 변경을 서버 보드에 반영 (미니게임을 시작한 쪽의 첫 결과만)
+                if (!room.finishMinigame(client)) return;
+                room.endMinigameStream(client);
+                room.broadcastMove(client, inputLine);
+                String[] parts = inputLine.split(" ");
+                boolean success = parts.length > 1 && "SUCCESS".equalsIgnoreCase(parts[1]);
+                int forcedSq = parts.length > 5 ? parseSquare(parts[4], parts[5]) : -1;
+                room.applyMinigameResult(client, success, forcedSq);
+            } else if (inputLine.startsWith("MINIGAME_START")) {
+                // 미니게임 시작을 기록하고 남은 상태를 보낸 뒤 상대방에게 중계
+                if (!room.startMinigame(client)) return;
+                room.endMinigameStream(client);
+                room.broadcastMove(client, inputLine);
+            } else if (inputLine.startsWith("MINIGAME_CLOSE")) {
+                // 결과 없이 미니게임 종료 (시작한 쪽만)
+                if (!room.finishMinigame(client)) return;
+                room.endMinigameStream(client);
+                room.broadcastMove(client, inputLine);
+            } else if (inputLine.equals("RANDOM_MOVE")) {
+                // 랜덤 수 요청 처리 (미니게임 결과와 같은 규칙)
+                if (room.finishMinigame(client)) {
+                    room.executeRandomMove(client);
+                }
+            }
+        }
+    }
 
-        public GameRoom(ClientHandler p1, ClientHandler p2) {
-            this.id = nextRoomId++;
-            this.player1 = p1;
-            this.player2 = p2;
-            player1.setRoom(this);
-            player2.setRoom(this);
+    /**
+     * 끝난 게임의 방을 닫고 두 연결을 끊음 (ROOM_CLOSED GAME_OVER 를 보낸 뒤)
+     * 방이 없는 연결은 유휴 방 정리 대상이 아니므로 남겨 두면 블로킹 서버의 작업 스레드를 계속 차지하고,
+     * 클라이언트도 연결이 끊겨야 다음 매칭을 시작할 수 있습니다.
+     */
+    private static void closeFinishedGame(GameRoom room) {
+        if (rooms.close(room, "GAME_OVER")) {
+            room.disconnectPlayers();
         }
+    }
 
-        public int getId() { return id; }
+    /**
+     * "x", "y" 문자열을 칸 번호로 변환 (보드 밖이거나 숫자가 아니면 -1)
+     */
+    private static int parseSquare(String x, String y) {
+        try {
+            int col = Integer.parseInt(x);
+            int row = Integer.parseInt(y);
+            return col >= 0 && col < 8 && row >= 0 && row < 8 ? row * 8 + col : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 
-        // F-11: 상대방에게 수를 중계합니다.
-        public void broadcastMove(ClientHandler sender, String moveData) {
-            if (sender == player1) {
-                player2.sendMessage(moveData);
-            } else if (sender == player2) {
-                player1.sendMessage(moveData);
+    /**
+     * 바이너리 클라이언트가 보낸 프레임 하나 처리 (블로킹/NIO 공통, 텍스트 처리와 같은 규칙)
+     * 수와 미니게임 결과만 해석하고, 미니게임 진행 메시지는 내용을 보지 않고 상대방에게 중계합니다.
+     * @param body opcode 부터 프레임 끝까지 (호출 뒤 버퍼가 다시 쓰이므로 보관하지 않음)
+     */
+    static void handleFrame(ClientConnection client, ByteBuffer body) {
+        GameRoom room = client.getRoom();
+        if (room == null || !body.hasRemaining()) return;
+        room.touch();
+        int p = body.position();
+        switch (body.get(p)) {
+            case BinaryProtocol.OP_MOVE -> {
+                int sq = body.remaining() >= 2 ? body.get(p + 1) : -1;
+                if (room.playMove(client, sq)) {
+                    closeFinishedGame(room);
+                }
             }
-        }
-        
-        /**
-         * 랜덤 수 처리 요청 (미니게임 성공 시)
-         */
-        public void executeRandomMove(ClientHandler requester) {
-            // 요청한 플레이어의 상대방에게 랜덤 수 실행 알림
-            if (requester == player1) {
-                player2.sendMessage("RANDOM_MOVE_EXECUTED");
-            } else if (requester == player2) {
-                player1.sendMessage("RANDOM_MOVE_EXECUTED");
+            case BinaryProtocol.OP_SYNC_REQUEST -> room.sync(client);
+            case BinaryProtocol.OP_GAME_OVER -> {
+                if (room.isGameOver()) {
+                    closeFinishedGame(room);
+                }
+            }
+            case BinaryProtocol.OP_MINIGAME_RESULT -> {
+                // 짧은 결과는 미니게임을 끝내거나 중계하지 않고 버림 (상대 클라이언트가 해석할 수 없음)
+                if (body.remaining() < 11 || !room.finishMinigame(client)) return;
+                room.endMinigameStream(client);
+                room.broadcastFrame(client, body);
+                room.applyMinigameResult(client, body.get(p + 1) != 0, body.get(p + 10));
+            }
+            case BinaryProtocol.OP_MINIGAME_UPDATE -> room.relayMinigameUpdate(client, body);
+            case BinaryProtocol.OP_MINIGAME_START -> {
+                if (!room.startMinigame(client)) return;
+                room.endMinigameStream(client);
+                room.broadcastFrame(client, body);
+            }
+            case BinaryProtocol.OP_MINIGAME_CLOSE -> {
+                if (!room.finishMinigame(client)) return;
+                room.endMinigameStream(client);
+                room.broadcastFrame(client, body);
+            }
+            case BinaryProtocol.OP_RANDOM_MOVE -> {
+                if (room.finishMinigame(client)) {
+                    room.executeRandomMove(client);
+                }
+            }
+            default -> {
+                // 알 수 없는 opcode 는 무시
             }
-        }
-
-        public void startGame() {
-            // 흑돌(Player1)에게는 'START_BLACK opponentId', 백돌(Player2)에게는 'START_WHITE opponentId' 메시지를 보냅니다.
-            player1.sendMessage("START_BLACK " + player2.getUserId());
-            player2.sendMessage("START_WHITE " + player1.getUserId());
         }
     }
 
     /**
      * 클라이언트와의 개별 통신을 처리하는 핸들러.
+     * 텍스트 줄과 프레임을 같은 입력 스트림에서 읽으므로, 줄 단위 읽기도 직접 처리합니다 (미리 읽은 바이트를 잃지 않도록).
      */
-    private static class ClientHandler implements Runnable {
+    private static class ClientHandler implements Runnable, ClientConnection {
         private Socket socket;
-        private GameRoom room;
-        private BufferedReader in;
-        private PrintWriter out;
-        private boolean connected = true;
+        private volatile GameRoom room;
+        private DataInputStream in;
+        private OutputStream out; // 대기열을 비우는 drain 에서만 사용 (한 번에 하나만 실행)
+        private final ArrayDeque<ByteBuffer> outbound = new ArrayDeque<>(); // this 로 보호
+        private int outboundBytes;       // 대기열 + 쓰는 중인 크기, this 로 보호
+        private boolean drainScheduled;  // this 로 보호
+        private boolean closeAfterDrain; // this 로 보호
+        private volatile boolean connected = true;
+        private volatile boolean binary;
+        private volatile boolean syncCapable;
         private String userId = "Guest";
+        // 줄/프레임 읽기 버퍼 (필요할 때만 키움)
+        private byte[] buffer = new byte[256];
+        private ByteBuffer bufferView = ByteBuffer.wrap(buffer);
 
         public ClientHandler(Socket socket) {
             this.socket = socket;
             try {
-                in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                out = new PrintWriter(socket.getOutputStream(), true);
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out = new BufferedOutputStream(socket.getOutputStream());
             } catch (IOException e) {
                 connected = false;
             }
         }
 
         public boolean isValid() { return connected; }
+        public boolean isBinary() { return binary; }
+        public void enableBinary() { binary = true; }
+        public void enableSync() { syncCapable = true; }
+        public boolean acceptsSync() { return binary || syncCapable; }
         public void setRoom(GameRoom room) { this.room = room; }
+        public GameRoom getRoom() { return room; }
         public String getUserId() { return userId; }
+        public void setUserId(String userId) { this.userId = userId; }
 
+        /**
+         * 메시지를 쓰기 대기열에 넣음 (어느 스레드에서나 호출 가능, 소켓에 쓰는 동안 기다리지 않음)
+         */
         public void sendMessage(String message) {
-            if (connected) {
-                out.println(message);
+            enqueue(ByteBuffer.wrap((message + "\n").getBytes(StandardCharsets.UTF_8)));
+        }
+
+        public void sendFrame(ByteBuffer frame) {
+            enqueue(frame);
+        }
+
+        /**
+         * 대기열에 넣고 쓰기 스레드를 예약, 보내지 못한 크기가 한도를 넘으면 대기열을 버리고 연결 종료
+         */
+        private void enqueue(ByteBuffer data) {
+            if (!connected) return;
+            boolean overflow;
+            boolean schedule = false;
+            synchronized (this) {
+                overflow = outboundBytes + data.remaining() > OUTBOUND_LIMIT_BYTES;
+                if (overflow) {
+                    outbound.clear();
+                } else {
+                    outbound.add(data);
+                    outboundBytes += data.remaining();
+                    schedule = !drainScheduled;
+                    drainScheduled = true;
+                }
+            }
+            if (overflow) {
+                System.out.println("Outbound queue full, disconnecting client: " + userId);
+                close();
+            } else if (schedule) {
+                writers.execute(this::drain);
+            }
+        }
+
+        /**
+         * 대기열이 빌 때까지 쌓인 메시지를 모두 쓰고 한 번만 flush (같은 순간에 생긴 메시지는 TCP 세그먼트 하나로 나감)
+         */
+        private void drain() {
+            ArrayList<ByteBuffer> batch = new ArrayList<>();
+            boolean closeNow;
+            try {
+                while (true) {
+                    synchronized (this) {
+                        if (outbound.isEmpty() || !connected) {
+                            drainScheduled = false;
+                            closeNow = closeAfterDrain;
+                            break;
+                        }
+                        batch.addAll(outbound);
+                        outbound.clear();
+                    }
+                    int written = 0;
+                    for (ByteBuffer data : batch) {
+                        out.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+                        written += data.remaining();
+                    }
+                    out.flush();
+                    batch.clear();
+                    synchronized (this) {
+                        outboundBytes -= written;
+                    }
+                }
+            } catch (IOException e) {
+                closeNow = true;
+            }
+            if (closeNow) {
+                close();
             }
         }
 
+        /**
+         * 대기 중인 메시지를 모두 보낸 뒤 연결 종료 (어느 스레드에서나 호출 가능)
+         */
+        public void disconnect() {
+            synchronized (this) {
+                closeAfterDrain = true;
+                if (drainScheduled) return;
+            }
+            close();
+        }
+
+        private void close() {
+            // 소켓을 닫으면 읽기가 예외로 끝나고 finally 에서 정리됨
+            connected = false;
+            try {
+                socket.close();
+            } catch (IOException ignored) {}
+        }
+
         @Override
         public void run() {
             if (!connected) return;
             try {
-                String inputLine;
-                while ((inputLine = in.readLine()) != null) {
-                    if (inputLine.startsWith("USER_ID ")) {
-                        // 사용자 ID 수신
-                        userId = inputLine.substring(8);
-                        System.out.println("User ID received: " + userId);
-                    } else if (room != null) {
-                        // 미니게임 메시지 처리
-                        if (inputLine.startsWith("MINIGAME_START") || 
-                            inputLine.startsWith("MINIGAME_UPDATE") ||
-                            inputLine.startsWith("MINIGAME_RESULT") ||
-                            inputLine.startsWith("MINIGAME_CLOSE")) {
-                            // 미니게임 메시지는 상대방에게 중계
-                            room.broadcastMove(this, inputLine);
-                        } else if (inputLine.equals("RANDOM_MOVE")) {
-                            // 랜덤 수 요청 처리
-                            room.executeRandomMove(this);
-                        } else {
-                            // F-11: 받은 수를 같은 방의 상대방에게 중계합니다.
-                            room.broadcastMove(this, inputLine);
-                        }
+                while (connected) {
+                    if (binary) {
+                        if (!readFrame()) break;
+                    } else {
+                        String inputLine = readLine();
+                        if (inputLine == null) break;
+                        handleMessage(this, inputLine);
                     }
                 }
             } catch (IOException e) {
                 System.out.println("Client disconnected: " + socket.getInetAddress().getHostAddress());
             } finally {
                 // 자원 정리
+                connected = false;
                 try {
                     socket.close();
                 } catch (IOException ignored) {}
-                waitingClients.remove(this);
-                // GameRoom도 여기서 종료/제거 처리가 필요합니다.
+                onDisconnect(this);
             }
         }
+
+        /**
+         * 줄 하나 읽기 (끝의 \r 제거, 스트림이 끝나면 null)
+         */
+        private String readLine() throws IOException {
+            int n = 0;
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    return n > 0 ? new String(buffer, 0, n, StandardCharsets.UTF_8) : null;
+                }
+                if (n == buffer.length) {
+                    if (n >= MAX_LINE_BYTES) throw new IOException("Line too long");
+                    grow(n * 2);
+                }
+                buffer[n++] = (byte) b;
+            }
+            if (n > 0 && buffer[n - 1] == '\r') n--;
+            return new String(buffer, 0, n, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 프레임 하나를 읽어 처리 (스트림이 끝나면 false)
+         */
+        private boolean readFrame() throws IOException {
+            int length;
+            try {
+                length = in.readUnsignedShort();
+            } catch (EOFException e) {
+                return false;
+            }
+            if (length == 0) throw new IOException("Empty frame");
+            if (length > buffer.length) {
+                grow(Math.max(length, buffer.length * 2));
+            }
+            in.readFully(buffer, 0, length);
+            bufferView.clear().limit(length);
+            handleFrame(this, bufferView);
+            return true;
+        }
+
+        private void grow(int capacity) {
+            buffer = Arrays.copyOf(buffer, Math.min(capacity, Math.max(MAX_LINE_BYTES, BinaryProtocol.MAX_BODY_BYTES)));
+            bufferView = ByteBuffer.wrap(buffer);
+        }
     }
 }
-
@@ -0,0 +1,343 @@
+package org.example.network;
+
+import org.example.service.ConfigService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Selector 기반 논블로킹 서버 (스레드 하나로 모든 연결 처리)
+ * 연결마다 읽기 버퍼와 쓰기 대기열만 두므로, 대기 중이거나 느린 클라이언트 수만 명을 한 프로세스에서 유지할 수 있습니다.
+ * 프로토콜은 블로킹 서버와 같으며(텍스트 줄 또는 바이너리 프레임), 매칭/메시지 처리/GameRoom 은 NetworkServer 의 것을 그대로 사용합니다.
+ * 매칭은 USER_ID 를 받은 뒤 MatchmakingService 가 처리하므로 상대에게 항상 실제 사용자 ID가 전달됩니다.
+ * 쓰기 대기열 한도는 블로킹 서버와 같으며(NetworkServer.OUTBOUND_LIMIT_BYTES), 넘으면 대기열을 버리고 연결을 끊습니다.
+ * accept 가 실패하면(파일 디스크립터 부족 등) 잠시 새 연결만 받지 않고 기존 연결은 계속 처리하며,
+ * 한 연결을 처리하다 예외가 나면 그 연결만 닫으므로 이벤트 루프는 서버가 끝날 때까지 멈추지 않습니다.
+ */
+public class NioNetworkServer {
+
+    private static final int READ_BUFFER_BYTES = 512;       // 연결당 초기 읽기 버퍼
+    private static final int MAX_LINE_BYTES = 64 * 1024;    // 한 줄 최대 길이 (넘으면 연결 종료)
+    private static final int MAX_BUFFER_BYTES =
+            Math.max(MAX_LINE_BYTES, BinaryProtocol.HEADER_BYTES + BinaryProtocol.MAX_BODY_BYTES);
+    private static final int ACCEPT_BACKLOG = 1024;
+    private static final long ACCEPT_RETRY_MILLIS = 100;    // accept 실패 후 다시 받기까지 쉬는 시간
+
+    private final int port;
+    private final ConcurrentLinkedQueue<NioConnection> pendingFlushes = new ConcurrentLinkedQueue<>();
+    private Selector selector;
+    private Thread loopThread;
+    private SelectionKey acceptKey;
+    private long acceptResumeMillis;   // accept 를 쉬는 중이면 다시 받을 시각, 아니면 0 (이벤트 루프 스레드에서만 사용)
+
+    public NioNetworkServer(int port) {
+        this.port = port;
+    }
+
+    public static void main(String[] args) {
+        new NioNetworkServer(ConfigService.getServerPort()).run();
+    }
+
+    /**
+     * 이벤트 루프 실행 (호출한 스레드에서 서버가 끝날 때까지 반환하지 않음)
+     */
+    public void run() {
+        try (Selector sel = Selector.open(); ServerSocketChannel server = ServerSocketChannel.open()) {
+            selector = sel;
+            loopThread = Thread.currentThread();
+            server.bind(new InetSocketAddress(port), ACCEPT_BACKLOG);
+            server.configureBlocking(false);
+            acceptKey = server.register(sel, SelectionKey.OP_ACCEPT);
+            NetworkServer.startServices();
+            System.out.println("Othello Game Server (NIO) is running on port " + port + "...");
+
+            while (true) {
+                if (acceptResumeMillis == 0) {
+                    sel.select();
+                } else {
+                    sel.select(Math.max(1, acceptResumeMillis - System.currentTimeMillis()));
+                    resumeAcceptIfDue();
+                }
+                Iterator<SelectionKey> keys = sel.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept(server);
+                        continue;
+                    }
+                    NioConnection connection = (NioConnection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    } catch (RuntimeException e) {
+                        connection.fail(e);
+                    }
+                }
+                // 이번 반복에서 쌓인 메시지를 연결마다 한 번의 write 로 보냄
+                NioConnection connection;
+                while ((connection = pendingFlushes.poll()) != null) {
+                    try {
+                        connection.flush();
+                    } catch (RuntimeException e) {
+                        connection.fail(e);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Server exception: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 대기 중인 연결을 모두 받음
+     * 받지 못하면(파일 디스크립터 부족 등) ACCEPT_RETRY_MILLIS 동안 OP_ACCEPT 를 끄고 다시 시도하며, 서버는 계속 실행합니다.
+     */
+    private void accept(ServerSocketChannel server) {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (IOException e) {
+                System.err.println("Accept failed, pausing new connections for " + ACCEPT_RETRY_MILLIS + "ms: " + e.getMessage());
+                acceptKey.interestOps(0);
+                acceptResumeMillis = System.currentTimeMillis() + ACCEPT_RETRY_MILLIS;
+                return;
+            }
+            if (channel == null) return;
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new NioConnection(channel, key));
+                System.out.println("New client connected: " + channel.socket().getInetAddress().getHostAddress());
+            } catch (IOException e) {
+                System.err.println("Failed to set up client connection: " + e.getMessage());
+                try {
+                    channel.close();
+                } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    private void resumeAcceptIfDue() {
+        if (System.currentTimeMillis() >= acceptResumeMillis) {
+            acceptResumeMillis = 0;
+            acceptKey.interestOps(SelectionKey.OP_ACCEPT);
+        }
+    }
+
+    /**
+     * 논블로킹 연결 하나 (읽기/쓰기는 이벤트 루프 스레드에서만 수행)
+     */
+    private final class NioConnection implements ClientConnection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private final ArrayDeque<ByteBuffer> outbound = new ArrayDeque<>(); // this 로 보호
+        private int outboundBytes;                                           // this 로 보호
+        private boolean flushScheduled;                                      // this 로 보호
+        private volatile boolean closeAfterFlush;
+        private volatile boolean binary;
+        private volatile boolean syncCapable;
+        private volatile boolean connected = true;
+        private volatile GameRoom room;
+        private String userId = "Guest";
+
+        NioConnection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        @Override public boolean isValid() { return connected; }
+        @Override public boolean isBinary() { return binary; }
+        @Override public void enableBinary() { binary = true; }
+        @Override public void enableSync() { syncCapable = true; }
+        @Override public boolean acceptsSync() { return binary || syncCapable; }
+        @Override public String getUserId() { return userId; }
+        @Override public void setUserId(String userId) { this.userId = userId; }
+        @Override public GameRoom getRoom() { return room; }
+        @Override public void setRoom(GameRoom room) { this.room = room; }
+
+        /**
+         * 메시지를 쓰기 대기열에 넣고 이번 루프 반복 끝에 보내도록 예약 (어느 스레드에서나 호출 가능)
+         */
+        @Override
+        public void sendMessage(String message) {
+            enqueue(ByteBuffer.wrap((message + "\n").getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public void sendFrame(ByteBuffer frame) {
+            enqueue(frame);
+        }
+
+        private void enqueue(ByteBuffer data) {
+            if (!connected) return;
+            boolean overflow;
+            boolean schedule;
+            synchronized (this) {
+                overflow = outboundBytes + data.remaining() > NetworkServer.OUTBOUND_LIMIT_BYTES;
+                if (overflow) {
+                    outbound.clear();
+                    outboundBytes = 0;
+                } else {
+                    outbound.add(data);
+                    outboundBytes += data.remaining();
+                }
+                schedule = !flushScheduled;
+                flushScheduled = true;
+            }
+            if (overflow) {
+                System.out.println("Outbound queue full, disconnecting client: " + userId);
+                closeAfterFlush = true;
+                scheduleFlush();
+            } else if (schedule) {
+                scheduleFlush();
+            }
+        }
+
+        /**
+         * 대기 중인 메시지를 모두 보낸 뒤 연결 종료 (어느 스레드에서나 호출 가능)
+         */
+        @Override
+        public void disconnect() {
+            closeAfterFlush = true;
+            scheduleFlush();
+        }
+
+        private void scheduleFlush() {
+            pendingFlushes.add(this);
+            if (Thread.currentThread() != loopThread) {
+                selector.wakeup();
+            }
+        }
+
+        /**
+         * 읽을 수 있는 만큼 읽고 완성된 줄(바이너리 모드에서는 프레임)을 모두 처리
+         * 프레임은 읽기 버퍼의 position/limit 만 옮겨 그 자리에서 넘기므로 복사하지 않습니다.
+         */
+        void read() {
+            try {
+                int n = channel.read(readBuffer);
+                if (n < 0) {
+                    close();
+                    return;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+
+            readBuffer.flip();
+            int start = readBuffer.position();
+            int scan = start;
+            int limit = readBuffer.limit();
+            while (connected) {
+                if (binary) {
+                    // [길이 2바이트][opcode + 내용]
+                    if (limit - start < BinaryProtocol.HEADER_BYTES) break;
+                    int length = readBuffer.getShort(start) & 0xFFFF;
+                    int end = start + BinaryProtocol.HEADER_BYTES + length;
+                    if (length == 0) {
+                        close();
+                        return;
+                    }
+                    if (end > limit) break;
+                    readBuffer.limit(end).position(start + BinaryProtocol.HEADER_BYTES);
+                    NetworkServer.handleFrame(this, readBuffer);
+                    readBuffer.limit(limit);
+                    start = end;
+                    scan = end;
+                } else {
+                    while (scan < limit && readBuffer.get(scan) != '\n') scan++;
+                    if (scan == limit) break;
+                    int end = scan;
+                    if (end > start && readBuffer.get(end - 1) == '\r') end--;
+                    String line = new String(readBuffer.array(), start, end - start, StandardCharsets.UTF_8);
+                    start = ++scan;
+                    NetworkServer.handleMessage(this, line);
+                }
+            }
+            if (!connected) return;
+            readBuffer.position(start);
+            readBuffer.compact();
+
+            // 버퍼가 찼는데 줄/프레임이 끝나지 않았으면 늘리고, 최대 길이를 넘으면 연결 종료
+            if (!readBuffer.hasRemaining()) {
+                if (readBuffer.capacity() >= MAX_BUFFER_BYTES) {
+                    System.err.println("Message too long, closing client: " + userId);
+                    close();
+                    return;
+                }
+                ByteBuffer grown = ByteBuffer.allocate(Math.min(MAX_BUFFER_BYTES, readBuffer.capacity() * 2));
+                readBuffer.flip();
+                grown.put(readBuffer);
+                readBuffer = grown;
+            }
+        }
+
+        /**
+         * 대기열의 메시지를 한 번의 gathering write 로 전송, 다 못 보내면 OP_WRITE 로 이어서 보냄
+         * 종료가 요청된 연결은 대기열이 다 비었을 때 닫음 (남아 있으면 OP_WRITE 로 마저 보낸 뒤 닫음)
+         */
+        void flush() {
+            if (!connected) return;
+            boolean drained;
+            try {
+                synchronized (this) {
+                    flushScheduled = false;
+                    if (!outbound.isEmpty()) {
+                        channel.write(outbound.toArray(new ByteBuffer[0]));
+                        while (!outbound.isEmpty() && !outbound.peek().hasRemaining()) {
+                            outboundBytes -= outbound.poll().limit();
+                        }
+                    }
+                    drained = outbound.isEmpty();
+                    key.interestOps(drained
+                            ? SelectionKey.OP_READ
+                            : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            if (drained && closeAfterFlush) {
+                close();
+            }
+        }
+
+        /**
+         * 이 연결을 처리하다 난 예외 (서버 전체가 아니라 이 연결만 닫음)
+         */
+        void fail(RuntimeException e) {
+            System.err.println("Error handling client " + userId + ", closing connection: " + e);
+            close();
+        }
+
+        private void close() {
+            if (!connected) return;
+            connected = false;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+            NetworkServer.onDisconnect(this);
+            System.out.println("Client disconnected: " + userId);
+        }
+    }
+}
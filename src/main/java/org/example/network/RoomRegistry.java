@@ -0,0 +1,75 @@
+package org.example.network;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 진행 중인 게임 방 목록 (방 번호로 찾음)
+ * 방은 연결 종료, 게임 종료, 일정 시간 동안 메시지가 없을 때 목록에서 빠지며, 남은 플레이어에게 ROOM_CLOSED 를 알립니다.
+ * 닫힌 방은 어디에서도 참조하지 않으므로 서버를 오래 실행해도 방 수는 진행 중인 게임 수를 넘지 않습니다.
+ */
+class RoomRegistry {
+
+    private final ConcurrentHashMap<Integer, GameRoom> rooms = new ConcurrentHashMap<>();
+    private final AtomicInteger nextRoomId = new AtomicInteger(1);
+    private ScheduledExecutorService reaper;
+
+    /**
+     * 두 클라이언트로 방을 만들어 등록
+     */
+    GameRoom create(ClientConnection p1, ClientConnection p2) {
+        GameRoom room = new GameRoom(nextRoomId.getAndIncrement(), p1, p2);
+        rooms.put(room.getId(), room);
+        return room;
+    }
+
+    GameRoom get(int id) {
+        return rooms.get(id);
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    /**
+     * 방을 닫고 목록에서 제거 (이미 닫힌 방이면 무시, 어느 스레드에서나 호출 가능)
+     * @param reason 남은 플레이어에게 보낼 종료 사유 (LEFT, GAME_OVER, IDLE)
+     * @return 이번 호출로 닫았으면 true
+     */
+    boolean close(GameRoom room, String reason) {
+        if (!rooms.remove(room.getId(), room)) return false;
+        room.close(reason);
+        System.out.println("--- Room " + room.getId() + " closed (" + reason + "). Active rooms: " + rooms.size() + " ---");
+        return true;
+    }
+
+    /**
+     * 유휴 방 정리 스레드 시작 (여러 번 호출해도 한 번만 시작)
+     * @param idleTimeoutMillis 이 시간 동안 메시지가 없는 방은 닫고 두 연결을 끊음 (0 이하면 정리하지 않음)
+     */
+    synchronized void startReaper(long idleTimeoutMillis) {
+        if (reaper != null || idleTimeoutMillis <= 0) return;
+        reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "room-reaper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 4);
+        reaper.scheduleWithFixedDelay(() -> closeIdle(idleTimeoutMillis), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 마지막 메시지 이후 idleTimeoutMillis 가 지난 방을 닫음
+     */
+    void closeIdle(long idleTimeoutMillis) {
+        long now = System.currentTimeMillis();
+        for (GameRoom room : rooms.values()) {
+            if (now - room.getLastActivityMillis() >= idleTimeoutMillis && close(room, "IDLE")) {
+                room.disconnectPlayers();
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.server;
 
 import org.example.network.NetworkServer;
+import org.example.network.NioNetworkServer;
+import org.example.service.ConfigService;
 
 /**
  * 서버 전용 실행 클래스
@@ -9,19 +11,36 @@ import org.example.network.NetworkServer;
  * 사용법:
  * 1. 이 클래스를 실행하면 서버만 시작됩니다
  * 2. 클라이언트는 Main.java를 실행합니다
+ * 3. 서버 방식은 첫 번째 인자(blocking / virtual / nio) 또는 config.properties 의 server.mode 로 선택합니다
+ *    - blocking: 연결마다 스레드 하나, 최대 10개 (기본값)
+ *    - virtual: 연결마다 가상 스레드 하나 (Java 21), 같은 블로킹 코드로 수천 개의 대국 처리
+ *    - nio: Selector 기반 논블로킹, 스레드 하나로 수만 개의 연결 유지
  */
 public class ServerLauncher {
     public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0].trim().toLowerCase() : ConfigService.getServerMode();
+
         System.out.println("========================================");
         System.out.println("   오셀로 게임 서버 시작");
         System.out.println("========================================");
         System.out.println("서버가 실행 중입니다...");
         System.out.println("클라이언트는 이 서버의 IP 주소로 접속할 수 있습니다.");
-        System.out.println("포트: 8080");
+        System.out.println("포트: " + ConfigService.getServerPort());
+        System.out.println("방식: " + mode);
         System.out.println("========================================");
         
-        // NetworkServer의 main 메서드 호출
-        NetworkServer.main(args);
+        switch (mode) {
+            case "nio":
+                NioNetworkServer.main(args);
+                break;
+            case "virtual":
+                NetworkServer.start(true);
+                break;
+            case "blocking":
+                NetworkServer.start(false);
+                break;
+            default:
+                System.err.println("알 수 없는 서버 방식: " + mode + " (blocking, virtual 또는 nio)");
+        }
     }
 }
-
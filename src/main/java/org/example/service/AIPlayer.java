@@ -1,66 +1,327 @@
 package org.example.service;
 
+import org.example.model.Bitboard;
 import org.example.model.GameModel;
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import org.example.model.Position;
+import org.example.service.ai.EndgameSolver;
+import org.example.service.ai.Evaluator;
+import org.example.service.ai.MctsEngine;
+import org.example.service.ai.OpeningBook;
+import org.example.service.ai.ParallelSearch;
+import org.example.service.ai.PatternEvaluator;
+import org.example.service.ai.PositionalEvaluator;
+import org.example.service.ai.SearchEngine;
+import org.example.service.ai.TranspositionTable;
+import org.example.service.gemini.GeminiMoveCache;
+import org.example.service.gemini.GeminiTransport;
+import org.example.service.gemini.HttpGeminiTransport;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * AI 대전 기능을 위한 클래스입니다. (F-09의 고급 기능 확장)
- * Gemini API를 HTTP 통신으로 호출하여 수를 계산합니다.
+ * 고급 난이도는 로컬 알파-베타 탐색 엔진을 사용하며,
+ * 설정(ai.hard.useGemini)에 따라 Gemini API를 HTTP 통신으로 호출하여 수를 계산할 수도 있습니다.
+ * Gemini 응답은 국면별로 캐시하며(LRU + TTL), 같은 국면의 동시 요청은 한 번의 호출로 합칩니다.
+ * 헤지 모드(ai.hard.hedge)에서는 Gemini와 로컬 탐색을 동시에 진행하여 응답 시간이 네트워크 타임아웃이 아닌 기한으로 제한됩니다.
+ * 고급 난이도는 오프닝 북(ai.book.path)에 있는 국면이면 탐색 없이 북의 수를 바로 둡니다.
+ * 중급/고급 난이도는 빈칸이 설정값(ai.endgame.empties) 이하로 남으면 종반 완전 탐색기로 최선의 수를 계산합니다.
+ * UI에서는 requestMove로 국면 스냅샷을 넘겨 공유 스레드 풀에서 비동기로 계산하며, 반환된 Future를 취소하면 탐색도 중단됩니다.
+ * 중단은 요청마다의 조건(cancelled)으로 탐색 엔진에 전달하므로, 탐색이 시작되기 전에 온 취소나 Gemini 응답도 놓치지 않습니다.
+ * 사람 차례에는 startPondering으로 예상 응수 후의 국면을 미리 탐색해 두고(ai.ponder.*), 실제 수가 예측과 맞으면 즉시 응답합니다.
+ * 평가 함수, 탐색 스레드, 치환표 크기, MCTS 사용 여부는 EngineOptions 로 AIPlayer마다 바꿀 수 있습니다. (기본값은 설정 파일)
  */
-public class AIPlayer {
+public class AIPlayer implements AutoCloseable {
 
     private GameModel model;
     private Random random;
+    private final ParallelSearch searchEngine;
+    private final EndgameSolver endgameSolver = new EndgameSolver();
+    private final MctsEngine mctsEngine;
+    private volatile long lastNodes; // 마지막 수 계산에 사용한 탐색 노드 수
+
+    // 오프닝 북은 읽기 전용 매핑이므로 모든 AIPlayer가 공유
+    private static final OpeningBook OPENING_BOOK = loadOpeningBook();
+    private static final PatternEvaluator PATTERN_EVALUATOR = loadPatternEvaluator();
+
+    // 비동기 수 계산용 공유 스레드 풀 (데몬 스레드이므로 앱 종료를 막지 않음)
+    private static final AtomicInteger MOVE_THREAD_ID = new AtomicInteger(1);
+    private static final ExecutorService MOVE_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "ai-move-" + MOVE_THREAD_ID.getAndIncrement());
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 상대 차례에 미리 계산한 결과 (국면 해시 -> 칸 번호), 세대 번호가 바뀌면 진행 중인 예측 탐색은 종료
+    private final Map<Long, Integer> ponderResults = new ConcurrentHashMap<>();
+    private final AtomicInteger ponderGeneration = new AtomicInteger();
 
     // Gemini API 설정 (환경 변수 또는 config.properties에서 읽음)
     private static final String API_KEY = org.example.service.ConfigService.getGeminiApiKey();
-    private static final String MODEL_NAME = "gemini-2.0-flash";
-    private static final String API_BASE_URL = "https://generativelanguage.googleapis.com/v1beta/models/";
+    private static final String MODEL_NAME = ConfigService.getGeminiModelName();
+
+    // Gemini 응답 캐시 (모든 AIPlayer가 공유하여 같은 국면의 요청을 합침)
+    private static final GeminiMoveCache GEMINI_MOVES = new GeminiMoveCache(
+            ConfigService.getGeminiCacheSize(), ConfigService.getGeminiCacheTtlMillis());
+
+    private final GeminiTransport geminiTransport;
+    private final boolean checkApiKey; // 기본 HTTP 호출일 때만 API 키 형식 검사
+    private final EngineOptions options;
 
     public AIPlayer(GameModel model) {
+        this(model, defaultTransport(), true, EngineOptions.defaults());
+    }
+
+    /**
+     * Gemini 호출 방식을 지정하여 생성 (로컬 스텁 서버 등, API 키 검사 생략)
+     */
+    public AIPlayer(GameModel model, GeminiTransport geminiTransport) {
+        this(model, geminiTransport, false, EngineOptions.defaults());
+    }
+
+    /**
+     * 엔진 설정을 지정하여 생성 (대국 실행기처럼 여러 AI를 동시에 돌리거나 설정끼리 비교할 때)
+     */
+    public AIPlayer(GameModel model, EngineOptions options) {
+        this(model, defaultTransport(), true, options);
+    }
+
+    private AIPlayer(GameModel model, GeminiTransport geminiTransport, boolean checkApiKey, EngineOptions options) {
         this.model = model;
         this.random = new Random();
+        this.geminiTransport = geminiTransport;
+        this.checkApiKey = checkApiKey;
+        this.options = options;
+        TranspositionTable tt = new TranspositionTable(options.ttSizeMb);
+        if (options.evaluators != null) {
+            this.searchEngine = new ParallelSearch(tt, options.searchThreads, options.evaluators);
+        } else if (PATTERN_EVALUATOR != null) {
+            this.searchEngine = new ParallelSearch(tt, options.searchThreads, () -> PATTERN_EVALUATOR);
+        } else {
+            this.searchEngine = new ParallelSearch(tt, options.searchThreads);
+        }
+        this.mctsEngine = new MctsEngine(options.mctsThreads);
+    }
+
+    /**
+     * AIPlayer 하나가 쓰는 엔진 설정 (기본값은 config.properties, 바꾼 항목만 with 로 덮어씀)
+     */
+    public static final class EngineOptions {
+        private final Supplier<Evaluator> evaluators; // null 이면 설정된 패턴 가중치(없으면 위치 기반 평가)
+        private final String evaluatorName;
+        private final int searchThreads;
+        private final int ttSizeMb;
+        private final int mctsThreads;
+        private final Boolean mcts;                   // null 이면 난이도별 설정(ai.mcts.*)을 따름
+        private final boolean quiet;
+
+        private EngineOptions(Supplier<Evaluator> evaluators, String evaluatorName, int searchThreads, int ttSizeMb,
+                              int mctsThreads, Boolean mcts, boolean quiet) {
+            this.evaluators = evaluators;
+            this.evaluatorName = evaluatorName;
+            this.searchThreads = Math.max(1, searchThreads);
+            this.ttSizeMb = Math.max(1, ttSizeMb);
+            this.mctsThreads = Math.max(1, mctsThreads);
+            this.mcts = mcts;
+            this.quiet = quiet;
+        }
+
+        public static EngineOptions defaults() {
+            int threads = ConfigService.getAiSearchThreads();
+            return new EngineOptions(null, "default", threads, ConfigService.getTranspositionTableSizeMb(),
+                    Math.min(threads, ConfigService.getMctsThreads()), null, false);
+        }
+
+        /**
+         * 패턴 가중치 파일로 평가 (한 번 읽은 가중치는 읽기 전용이므로 모든 탐색 스레드가 공유)
+         */
+        public EngineOptions withPatternWeights(Path path) throws IOException {
+            PatternEvaluator evaluator = PatternEvaluator.load(path);
+            return new EngineOptions(() -> evaluator, path.getFileName().toString(), searchThreads, ttSizeMb,
+                    mctsThreads, mcts, quiet);
+        }
+
+        /**
+         * 위치 기반 평가 (패턴 가중치 설정을 무시)
+         */
+        public EngineOptions withPositionalEvaluator() {
+            return new EngineOptions(PositionalEvaluator::new, "positional", searchThreads, ttSizeMb,
+                    mctsThreads, mcts, quiet);
+        }
+
+        /**
+         * 알파-베타 탐색 스레드 수 (MCTS 스레드 수도 이 값을 넘지 않음)
+         */
+        public EngineOptions withSearchThreads(int threads) {
+            return new EngineOptions(evaluators, evaluatorName, threads, ttSizeMb,
+                    Math.min(mctsThreads, threads), mcts, quiet);
+        }
+
+        public EngineOptions withTtSizeMb(int sizeMb) {
+            return new EngineOptions(evaluators, evaluatorName, searchThreads, sizeMb, mctsThreads, mcts, quiet);
+        }
+
+        public EngineOptions withMctsThreads(int threads) {
+            return new EngineOptions(evaluators, evaluatorName, searchThreads, ttSizeMb, threads, mcts, quiet);
+        }
+
+        /**
+         * 모든 난이도에서 MCTS 사용 여부를 고정 (난이도별 설정 ai.mcts.* 무시)
+         */
+        public EngineOptions withMcts(boolean enabled) {
+            return new EngineOptions(evaluators, evaluatorName, searchThreads, ttSizeMb, mctsThreads, enabled, quiet);
+        }
+
+        /**
+         * 수마다 출력하는 진행 로그를 끔 (오류는 그대로 출력)
+         */
+        public EngineOptions withQuiet(boolean quiet) {
+            return new EngineOptions(evaluators, evaluatorName, searchThreads, ttSizeMb, mctsThreads, mcts, quiet);
+        }
+
+        boolean isMctsEnabled(GameModel.Difficulty difficulty) {
+            return mcts != null ? mcts : ConfigService.isMctsEnabled(difficulty);
+        }
+
+        @Override
+        public String toString() {
+            return "eval=" + evaluatorName + ",threads=" + searchThreads + ",tt=" + ttSizeMb + "MB"
+                    + ",mcts=" + (mcts == null ? "config" : mcts ? "on" : "off");
+        }
+    }
+
+    private static GeminiTransport defaultTransport() {
+        return new HttpGeminiTransport(ConfigService.getGeminiBaseUrl(), MODEL_NAME, API_KEY,
+                Duration.ofSeconds(5), Duration.ofSeconds(15));
     }
 
     /**
-     * Gemini API를 호출하여 최적의 다음 수 (x, y)를 반환합니다.
+     * 난이도에 맞는 최적의 다음 수 (x, y)를 반환합니다.
      * @param difficulty AI 난이도 (EASY, MEDIUM, HARD)
      */
     public int[] getBestMove(GameModel.Difficulty difficulty) throws Exception {
-        List<int[]> validMoves = model.getValidMoves();
-        if (validMoves.isEmpty()) return null;
+        return getBestMove(model.getPosition(), difficulty, System.currentTimeMillis() + ConfigService.getAiMoveDeadlineMillis());
+    }
+
+    /**
+     * 주어진 국면의 수를 호출한 스레드에서 계산 (대국 실행기 등 UI 없는 환경용)
+     * @param deadlineMillis 응답 기한 (System.currentTimeMillis 기준), 탐색 시간은 이 기한 안으로 제한됨
+     */
+    public int[] getBestMove(Position position, GameModel.Difficulty difficulty, long deadlineMillis) throws Exception {
+        stopPondering();
+        return computeMove(position, difficulty, deadlineMillis, SearchEngine.NEVER);
+    }
+
+    /**
+     * 공유 스레드 풀에서 비동기로 수를 계산합니다.
+     * 반환된 Future를 cancel 하면 진행 중인 탐색이 즉시 중단되며, 결과는 버려집니다.
+     * @param position 계산할 국면 (호출 이후 게임 보드가 바뀌어도 영향 없음)
+     * @param difficulty AI 난이도
+     * @param deadlineMillis 응답 기한 (System.currentTimeMillis 기준), 탐색 시간은 이 기한 안으로 제한됨
+     * @return (x, y), 둘 곳이 없으면 null 로 완료
+     */
+    public CompletableFuture<int[]> requestMove(Position position, GameModel.Difficulty difficulty, long deadlineMillis) {
+        stopPondering();
+        CompletableFuture<int[]> result = new CompletableFuture<>();
+        Future<?> task = MOVE_EXECUTOR.submit(() -> {
+            try {
+                if (result.isDone()) return; // 시작 전에 취소됨
+                // 탐색은 이 요청의 취소 여부를 직접 확인하므로 어느 단계에서 취소되어도 멈춤
+                result.complete(computeMove(position, difficulty, deadlineMillis, result::isCancelled));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((move, error) -> {
+            if (result.isCancelled()) {
+                // 인터럽트는 쓰지 않음 (병렬 탐색의 보조 스레드 합류가 끊기지 않도록 중단 조건으로만 멈춤)
+                task.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @param cancelled 이 요청의 중단 조건 (모든 탐색 단계에 전달)
+     */
+    private synchronized int[] computeMove(Position position, GameModel.Difficulty difficulty, long deadlineMillis,
+                                           BooleanSupplier cancelled) throws Exception {
+        lastNodes = 0;
+        long moveMask = position.getValidMoveMask();
+        if (moveMask == 0L) return null;
+
+        // MCTS 로 설정된 난이도: 플레이아웃 수/시간 예산으로만 세기 조절
+        if (options.isMctsEnabled(difficulty)) {
+            return getBestMoveByMcts(position, difficulty, deadlineMillis, cancelled);
+        }
 
         // 쉬움 난이도: 랜덤 선택 (즉시)
         if (difficulty == GameModel.Difficulty.EASY) {
-            System.out.println("[AI] 쉬움 난이도: 랜덤 수 선택");
-            return validMoves.get(random.nextInt(validMoves.size()));
+            log("[AI] 쉬움 난이도: 랜덤 수 선택");
+            return pickRandomMove(moveMask);
+        }
+
+        // 상대 차례에 미리 계산해 둔 국면이면 즉시 반환
+        Integer pondered = ponderResults.get(position.getHash());
+        ponderResults.clear();
+        if (pondered != null && (moveMask & (1L << pondered)) != 0) {
+            int[] move = {pondered & 7, pondered >>> 3};
+            log("[AI] 예측 탐색 적중 -> (" + move[0] + ", " + move[1] + ")");
+            return move;
+        }
+
+        // 종반: 남은 빈칸이 적으면 완전 탐색 (시간 안에 끝나지 않으면 난이도별 방식으로 진행)
+        if (position.getEmptyCount() <= ConfigService.getEndgameEmpties()) {
+            int[] move = getBestMoveByEndgameSolver(position, deadlineMillis, cancelled);
+            if (move != null || cancelled.getAsBoolean()) return move;
         }
         
         // 중급 난이도: 가장 많이 뒤집는 수 선택 (로컬 계산, 빠름)
         if (difficulty == GameModel.Difficulty.MEDIUM) {
-            System.out.println("[AI] 중급 난이도: 로컬 알고리즘으로 계산 중...");
-            return getBestMoveByFlipCount(validMoves);
+            log("[AI] 중급 난이도: 로컬 알고리즘으로 계산 중...");
+            return getBestMoveByFlipCount(position);
         }
 
+        // 고급 난이도: 오프닝 북에 있으면 즉시 반환
+        int[] bookMove = getBookMove(position);
+        if (bookMove != null) return bookMove;
+
+        // 고급 난이도: 로컬 탐색 엔진 (Gemini 사용이 꺼져 있으면 네트워크 없이 즉시 계산)
+        if (!ConfigService.isGeminiEnabledForHard()) {
+            return getBestMoveBySearch(position, deadlineMillis, cancelled);
+        }
+
+        List<int[]> validMoves = toMoveList(moveMask);
+
         // API 키 확인 및 검증
-        if (API_KEY == null || API_KEY.isEmpty()) {
+        if (checkApiKey && (API_KEY == null || API_KEY.isEmpty())) {
             System.err.println("========================================");
             System.err.println("[AI] ⚠️  API Key가 설정되지 않았습니다!");
-            System.err.println("[AI] 중급/고급 난이도는 Gemini API가 필요합니다.");
+            System.err.println("[AI] Gemini 모드(ai.hard.useGemini=true)는 API 키가 필요합니다.");
             System.err.println("[AI]");
             System.err.println("[AI] 설정 방법:");
             System.err.println("[AI]   1. Windows PowerShell:");
@@ -75,33 +336,36 @@ public class AIPlayer {
             System.err.println("[AI]");
             System.err.println("[AI] API 키 발급: https://makersuite.google.com/app/apikey");
             System.err.println("========================================");
-            System.err.println("[AI] 랜덤 수로 대체합니다.");
-            return validMoves.get(random.nextInt(validMoves.size()));
+            System.err.println("[AI] 로컬 탐색 엔진으로 대체합니다.");
+            return getBestMoveBySearch(position, deadlineMillis, cancelled);
         }
         
-        if (API_KEY.length() < 20 || !API_KEY.startsWith("AIzaSy")) {
+        if (checkApiKey && (API_KEY.length() < 20 || !API_KEY.startsWith("AIzaSy"))) {
             System.err.println("[AI] ⚠️  API Key 형식이 올바르지 않습니다.");
             System.err.println("[AI]   - 길이: " + API_KEY.length() + "자 (최소 20자 필요)");
             System.err.println("[AI]   - 시작: " + (API_KEY.length() > 5 ? API_KEY.substring(0, 5) : "N/A") + " (AIzaSy로 시작해야 함)");
-            System.err.println("[AI] 랜덤 수로 대체합니다.");
-            return validMoves.get(random.nextInt(validMoves.size()));
+            System.err.println("[AI] 로컬 탐색 엔진으로 대체합니다.");
+            return getBestMoveBySearch(position, deadlineMillis, cancelled);
         }
         
-        System.out.println("[AI] ✓ API Key 확인 완료 (길이: " + API_KEY.length() + "자)");
-        System.out.println("[AI] 고급 난이도: Gemini API 호출 중... (2-5초 소요)");
+        if (checkApiKey) {
+            log("[AI] ✓ API Key 확인 완료 (길이: " + API_KEY.length() + "자)");
+        }
+
+        // 헤지 모드: Gemini 요청과 로컬 탐색을 동시에 시작하고 기한 안에 온 Gemini 응답만 사용
+        if (ConfigService.isGeminiHedgeEnabled()) {
+            return getBestMoveHedged(position, difficulty, validMoves, deadlineMillis, cancelled);
+        }
 
         try {
-            String prompt = buildPrompt(difficulty, validMoves);
-            System.out.println("[AI] 프롬프트 생성 완료. API 호출 중...");
-            String responseText = callGeminiApi(prompt);
-            System.out.println("[AI] API 응답 받음: " + (responseText.length() > 100 ? responseText.substring(0, 100) + "..." : responseText));
-            int[] move = parseMoveFromResponse(responseText, validMoves);
-            if (move != null) {
-                System.out.println("[AI] 수 결정: (" + move[0] + ", " + move[1] + ")");
+            Integer square = requestGeminiMove(position, difficulty, validMoves);
+            if (square != null && (moveMask & (1L << square)) != 0) {
+                int[] move = {square & 7, square >>> 3};
+                log("[AI] 수 결정: (" + move[0] + ", " + move[1] + ")");
                 return move;
             } else {
                 System.err.println("[AI] 응답 파싱 실패 - 유효한 수를 찾지 못함");
-                return validMoves.get(random.nextInt(validMoves.size()));
+                return getBestMoveBySearch(position, deadlineMillis, cancelled);
             }
         } catch (Exception e) {
             System.err.println("[AI] 호출 실패 상세 정보:");
@@ -111,11 +375,78 @@ public class AIPlayer {
                 System.err.println("  - 원인: " + e.getCause().getMessage());
             }
             e.printStackTrace();
-            System.err.println("[AI] 랜덤 수로 대체합니다.");
-            return validMoves.get(random.nextInt(validMoves.size()));
+            System.err.println("[AI] 로컬 탐색 엔진으로 대체합니다.");
+            return getBestMoveBySearch(position, deadlineMillis, cancelled);
         }
     }
     
+    /**
+     * Gemini 호출 및 응답 파싱 (국면별 캐시 및 동시 요청 합치기 적용)
+     * @return 칸 번호, 응답에서 유효한 수를 찾지 못하면 null
+     */
+    private Integer requestGeminiMove(Position position, GameModel.Difficulty difficulty, List<int[]> validMoves) throws Exception {
+        return GEMINI_MOVES.getOrLoad(position.getHash(), () -> {
+            log("[AI] 고급 난이도: Gemini API 호출 중... (2-5초 소요)");
+            String prompt = buildPrompt(position, difficulty, validMoves);
+            log("[AI] 프롬프트 생성 완료. API 호출 중...");
+            String responseText = geminiTransport.generateContent(prompt, this::log);
+            log("[AI] API 응답 받음: " + (responseText.length() > 100 ? responseText.substring(0, 100) + "..." : responseText));
+            int[] parsed = parseMoveFromResponse(responseText, validMoves);
+            return parsed == null ? null : Bitboard.square(parsed[0], parsed[1]);
+        }, this::log);
+    }
+
+    /**
+     * 헤지 모드: Gemini 요청을 백그라운드로 보내 놓고 같은 시간에 로컬 탐색을 수행
+     * Gemini 응답이 기한(ai.hard.geminiDeadlineMs) 안에 오고 합법인 수일 때만 사용하며, 그 전에 오면 로컬 탐색을 바로 끝냅니다.
+     * 기한을 넘긴 요청은 버리지 않고 끝까지 진행되어 캐시에 남습니다. (다음에 같은 국면이 나오면 즉시 사용)
+     * 응답 도착은 탐색의 중단 조건으로 전달하므로, 캐시 적중처럼 탐색 시작 전에 답이 와도 탐색은 곧바로 끝납니다.
+     */
+    private int[] getBestMoveHedged(Position position, GameModel.Difficulty difficulty, List<int[]> validMoves,
+                                    long deadlineMillis, BooleanSupplier cancelled) {
+        long start = System.currentTimeMillis();
+        long geminiDeadline = Math.min(deadlineMillis, start + ConfigService.getGeminiDeadlineMillis());
+        long moveMask = position.getValidMoveMask();
+
+        CompletableFuture<Integer> gemini = CompletableFuture.supplyAsync(() -> {
+            try {
+                return requestGeminiMove(position, difficulty, validMoves);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, MOVE_EXECUTOR);
+        AtomicBoolean geminiReady = new AtomicBoolean();
+        gemini.thenAccept(square -> {
+            // 합법인 응답이 기한 안에 도착하면 로컬 탐색을 멈춤
+            if (square != null && (moveMask & (1L << square)) != 0 && System.currentTimeMillis() <= geminiDeadline) {
+                geminiReady.set(true);
+            }
+        });
+
+        int[] localMove = getBestMoveBySearch(position, geminiDeadline,
+                () -> geminiReady.get() || cancelled.getAsBoolean());
+
+        Integer square = null;
+        try {
+            long wait = geminiDeadline - System.currentTimeMillis();
+            square = wait > 0 ? gemini.get(wait, TimeUnit.MILLISECONDS) : gemini.getNow(null);
+        } catch (TimeoutException e) {
+            log("[AI] Gemini 응답이 기한(" + (geminiDeadline - start) + "ms) 안에 오지 않아 로컬 탐색 결과를 사용합니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("[AI] Gemini 호출 실패: " + e.getMessage() + " -> 로컬 탐색 결과를 사용합니다.");
+        }
+
+        if (square != null && (moveMask & (1L << square)) != 0) {
+            int[] move = {square & 7, square >>> 3};
+            log("[AI] 헤지: Gemini 응답 사용 (" + (System.currentTimeMillis() - start) + "ms) -> ("
+                    + move[0] + ", " + move[1] + ")");
+            return move;
+        }
+        return localMove;
+    }
+
     /**
      * 난이도 없이 호출 시 기본값(MEDIUM) 사용
      */
@@ -123,38 +454,275 @@ public class AIPlayer {
         return getBestMove(GameModel.Difficulty.MEDIUM);
     }
     
+    /**
+     * 상대(사람) 차례에 백그라운드에서 예측 탐색 시작
+     * 상대의 가장 유력한 응수부터 모든 응수 후의 국면을 차례로 탐색하여 결과를 보관하고, 탐색 내용은 치환표에 남깁니다.
+     * 난이도별 설정(ai.ponder.*)이 꺼져 있으면 아무것도 하지 않습니다.
+     * @param position 상대가 둘 차례인 국면
+     */
+    public void startPondering(Position position, GameModel.Difficulty difficulty) {
+        stopPondering();
+        // MCTS 난이도는 트리 재사용으로 대신함
+        if (!ConfigService.isPonderingEnabled(difficulty) || options.isMctsEnabled(difficulty)) return;
+        int generation = ponderGeneration.get();
+        MOVE_EXECUTOR.execute(() -> ponder(position, difficulty, generation));
+    }
+
+    /**
+     * 예측 탐색 중단 (게임 종료, 화면 전환, 실제 수 계산 시작 시 호출)
+     * 세대 번호만 바꾸며, 예측 탐색은 자기 세대가 지났는지를 중단 조건으로 확인하므로 실제 수 계산에는 영향이 없습니다.
+     */
+    public void stopPondering() {
+        ponderGeneration.incrementAndGet();
+    }
+
+    private void ponder(Position position, GameModel.Difficulty difficulty, int generation) {
+        synchronized (this) {
+            long human = position.getPlayer();
+            long ai = position.getOpponent();
+            long replies = Bitboard.moves(human, ai);
+            BooleanSupplier stale = () -> ponderGeneration.get() != generation;
+            if (replies == 0L || stale.getAsBoolean()) return;
+
+            // 상대의 유력한 응수를 먼저 (짧은 탐색으로 예측)
+            long searchTime = ConfigService.getAiSearchTimeMillis();
+            int predicted = searchEngine.findBestMove(human, ai, Math.max(1L, searchTime / 4), stale);
+            if (predicted == SearchEngine.NO_MOVE) predicted = Long.numberOfTrailingZeros(replies);
+
+            int searched = 0;
+            long remaining = replies;
+            int sq = predicted;
+            while (ponderGeneration.get() == generation) {
+                long f = Bitboard.flips(human, ai, sq);
+                long nextHuman = human | f | (1L << sq);
+                long nextAi = ai & ~f;
+                Position next = (position.getTurn() == 1)
+                        ? new Position(nextHuman, nextAi, 2)
+                        : new Position(nextAi, nextHuman, 1);
+
+                int move = ponderPosition(next, difficulty, stale);
+                if (ponderGeneration.get() != generation) break; // 중단된 탐색 결과는 불완전하므로 버림
+                if (move != SearchEngine.NO_MOVE) {
+                    ponderResults.put(next.getHash(), move);
+                    searched++;
+                }
+                remaining &= ~(1L << sq);
+                if (remaining == 0L) break;
+                sq = Long.numberOfTrailingZeros(remaining);
+            }
+            if (searched > 0) {
+                log("[AI] 예측 탐색: 상대 응수 " + searched + "/" + Long.bitCount(replies) + "개 완료");
+            }
+        }
+    }
+
+    /**
+     * 예측 국면 하나를 실제 계산과 같은 방식으로 탐색 (해당 난이도가 탐색하지 않는 국면이면 NO_MOVE)
+     */
+    private int ponderPosition(Position next, GameModel.Difficulty difficulty, BooleanSupplier stale) {
+        long ai = next.getPlayer();
+        long human = next.getOpponent();
+        if (Bitboard.moves(ai, human) == 0L) return SearchEngine.NO_MOVE;
+        if (next.getEmptyCount() <= ConfigService.getEndgameEmpties()) {
+            int move = endgameSolver.findBestMove(ai, human, ConfigService.getEndgameTimeMillis(), stale);
+            if (move != EndgameSolver.NO_MOVE || difficulty != GameModel.Difficulty.HARD) return move;
+        }
+        if (difficulty != GameModel.Difficulty.HARD) return SearchEngine.NO_MOVE;
+        return searchEngine.findBestMove(ai, human, ConfigService.getAiSearchTimeMillis(), stale);
+    }
+
+    /**
+     * 몬테카를로 트리 탐색: 난이도별 플레이아웃 수와 남은 기한 중 먼저 소진되는 예산까지 탐색
+     */
+    private int[] getBestMoveByMcts(Position position, GameModel.Difficulty difficulty, long deadlineMillis,
+                                    BooleanSupplier cancelled) {
+        long start = System.currentTimeMillis();
+        long budget = Math.max(1L, Math.min(ConfigService.getAiSearchTimeMillis(), deadlineMillis - start));
+        int square = mctsEngine.findBestMove(position.getPlayer(), position.getOpponent(),
+                ConfigService.getMctsPlayouts(difficulty), budget, cancelled);
+        lastNodes += mctsEngine.getPlayouts();
+        if (square == MctsEngine.NO_MOVE) return null;
+
+        int[] move = {square & 7, square >>> 3};
+        log("[AI] MCTS: 플레이아웃 " + mctsEngine.getPlayouts() + "회 (재사용 " + mctsEngine.getReusedVisits()
+                + "회, 트리 " + mctsEngine.getThreadCount() + "개), " + (System.currentTimeMillis() - start)
+                + "ms -> (" + move[0] + ", " + move[1] + ")");
+        return move;
+    }
+
     /**
      * 중급 난이도: 가장 많이 뒤집는 수를 선택 (로컬 알고리즘)
      */
-    private int[] getBestMoveByFlipCount(List<int[]> validMoves) {
-        if (validMoves.isEmpty()) return null;
+    private int[] getBestMoveByFlipCount(Position position) {
+        long moveMask = position.getValidMoveMask();
+        if (moveMask == 0L) return null;
         
-        int[] bestMove = validMoves.get(0); // 기본값: 첫 번째 수
+        int bestSquare = Long.numberOfTrailingZeros(moveMask); // 기본값: 첫 번째 수
         int maxFlips = -1;
         
-        for (int[] move : validMoves) {
-            int x = move[0];
-            int y = move[1];
+        for (long m = moveMask; m != 0; m &= m - 1) {
+            int square = Long.numberOfTrailingZeros(m);
             
             // 이 수를 두면 몇 개를 뒤집을 수 있는지 계산
-            List<int[]> flips = model.getPiecesToFlip(x, y, model.getCurrentTurn());
-            int flipCount = flips.size();
+            int flipCount = Long.bitCount(Bitboard.flips(position.getPlayer(), position.getOpponent(), square));
             
             if (flipCount > maxFlips) {
                 maxFlips = flipCount;
-                bestMove = move;
+                bestSquare = square;
             }
         }
         
-        System.out.println("[AI] 중급: 최대 " + maxFlips + "개 뒤집기 가능한 수 선택: (" + bestMove[0] + ", " + bestMove[1] + ")");
+        int[] bestMove = {bestSquare & 7, bestSquare >>> 3};
+        log("[AI] 중급: 최대 " + maxFlips + "개 뒤집기 가능한 수 선택: (" + bestMove[0] + ", " + bestMove[1] + ")");
         return bestMove;
     }
 
+    /**
+     * 고급 난이도: 반복 심화 알파-베타 탐색 (로컬, 멀티코어, 설정된 시간 안에 응답)
+     */
+    private int[] getBestMoveBySearch(Position position, long deadlineMillis, BooleanSupplier cancelled) {
+        long start = System.currentTimeMillis();
+        long budget = Math.min(ConfigService.getAiSearchTimeMillis(), Math.max(1L, deadlineMillis - start));
+        int square = searchEngine.findBestMove(position.getPlayer(), position.getOpponent(), budget, cancelled);
+        lastNodes += searchEngine.getNodes();
+        if (square == SearchEngine.NO_MOVE) return null;
+
+        int[] move = {square & 7, square >>> 3};
+        log("[AI] 고급: " + searchEngine.getThreadCount() + "스레드, 깊이 " + searchEngine.getCompletedDepth()
+                + ", 노드 " + searchEngine.getNodes()
+                + ", 평가 " + searchEngine.getBestScore() + ", " + (System.currentTimeMillis() - start) + "ms -> ("
+                + move[0] + ", " + move[1] + ")");
+        return move;
+    }
+
+    /**
+     * 오프닝 북 조회
+     * @return 북에 없으면 null
+     */
+    private int[] getBookMove(Position position) {
+        long start = System.nanoTime();
+        int square = OPENING_BOOK.probe(position.getPlayer(), position.getOpponent());
+        if (square == OpeningBook.NO_MOVE) return null;
+
+        int[] move = {square & 7, square >>> 3};
+        log("[AI] 고급: 오프닝 북 (" + (System.nanoTime() - start) / 1000 + "us) -> ("
+                + move[0] + ", " + move[1] + ")");
+        return move;
+    }
+
+    private static OpeningBook loadOpeningBook() {
+        Path path = Paths.get(ConfigService.getOpeningBookPath());
+        if (!Files.exists(path)) {
+            System.out.println("[AI] 오프닝 북 파일 없음 (" + path + "), 북 없이 진행합니다.");
+            return OpeningBook.empty();
+        }
+        try {
+            OpeningBook book = OpeningBook.load(path);
+            System.out.println("[AI] 오프닝 북 로드: " + book.size() + "개 국면 (" + path + ")");
+            return book;
+        } catch (IOException e) {
+            System.err.println("[AI] 오프닝 북 로드 실패: " + e.getMessage());
+            return OpeningBook.empty();
+        }
+    }
+
+    /**
+     * 패턴 평가 가중치 로드 (파일이 없으면 null, 위치 기반 평가 사용)
+     */
+    private static PatternEvaluator loadPatternEvaluator() {
+        Path path = Paths.get(ConfigService.getPatternWeightsPath());
+        if (!Files.exists(path)) {
+            System.out.println("[AI] 패턴 가중치 파일 없음 (" + path + "), 위치 기반 평가를 사용합니다.");
+            return null;
+        }
+        try {
+            PatternEvaluator evaluator = PatternEvaluator.load(path);
+            System.out.println("[AI] 패턴 가중치 로드 (" + path + ")");
+            return evaluator;
+        } catch (IOException e) {
+            System.err.println("[AI] 패턴 가중치 로드 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 종반 완전 탐색: 최종 돌 차이를 정확히 계산
+     * @return 제한 시간 안에 끝나지 않으면 null
+     */
+    private int[] getBestMoveByEndgameSolver(Position position, long deadlineMillis, BooleanSupplier cancelled) {
+        long start = System.currentTimeMillis();
+        long budget = Math.min(ConfigService.getEndgameTimeMillis(), Math.max(1L, deadlineMillis - start));
+        int square = endgameSolver.findBestMove(position.getPlayer(), position.getOpponent(), budget, cancelled);
+        lastNodes += endgameSolver.getNodes();
+        long elapsed = System.currentTimeMillis() - start;
+        if (square == EndgameSolver.NO_MOVE) {
+            log("[AI] 종반: 빈칸 " + position.getEmptyCount() + "개 완전 탐색이 " + elapsed + "ms 안에 끝나지 않음");
+            return null;
+        }
+
+        int[] move = {square & 7, square >>> 3};
+        log("[AI] 종반: 빈칸 " + position.getEmptyCount() + "개, 노드 " + endgameSolver.getNodes()
+                + ", 최종 돌 차이 " + endgameSolver.getBestScore() + ", " + elapsed + "ms -> ("
+                + move[0] + ", " + move[1] + ")");
+        return move;
+    }
+
+    /**
+     * 예측 탐색을 멈추고 탐색 스레드 풀을 종료 (진행 중인 수 계산이 있으면 끝난 뒤 종료, 이후에는 사용할 수 없음)
+     */
+    @Override
+    public synchronized void close() {
+        stopPondering();
+        searchEngine.close();
+        mctsEngine.close();
+    }
+
+    /**
+     * 진행 로그 (quiet 설정이면 출력하지 않음)
+     */
+    private void log(String message) {
+        if (!options.quiet) {
+            System.out.println(message);
+        }
+    }
+
+    /**
+     * 마지막 수 계산에 사용한 탐색 노드 수 (탐색하지 않은 수는 0)
+     */
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    /**
+     * 유효한 수 마스크를 (x, y) 목록으로 변환
+     */
+    private static List<int[]> toMoveList(long moveMask) {
+        List<int[]> moves = new ArrayList<>(Long.bitCount(moveMask));
+        for (long m = moveMask; m != 0; m &= m - 1) {
+            int square = Long.numberOfTrailingZeros(m);
+            moves.add(new int[]{square & 7, square >>> 3});
+        }
+        return moves;
+    }
+
+    /**
+     * 유효한 수 마스크에서 무작위로 하나를 골라 (x, y)로 반환
+     */
+    private int[] pickRandomMove(long moveMask) {
+        int skip = random.nextInt(Long.bitCount(moveMask));
+        long m = moveMask;
+        for (int i = 0; i < skip; i++) {
+            m &= m - 1;
+        }
+        int square = Long.numberOfTrailingZeros(m);
+        return new int[]{square & 7, square >>> 3};
+    }
+
     // --- 프롬프트 구성 및 로직 ---
 
-    private String buildPrompt(GameModel.Difficulty difficulty, List<int[]> validMoves) {
-        int[][] board = model.getBoard();
-        int aiColor = model.getAIColor();
+    private String buildPrompt(Position position, GameModel.Difficulty difficulty, List<int[]> validMoves) {
+        int[][] board = position.toBoard();
+        int aiColor = position.getTurn();
         String aiColorName = (aiColor == 1) ? "Black" : "White";
 
         StringBuilder sb = new StringBuilder();
@@ -185,8 +753,8 @@ public class AIPlayer {
     }
 
     private int[] parseMoveFromResponse(String response, List<int[]> validMoves) {
-        System.out.println("[AI] 응답 파싱 시작...");
-        System.out.println("[AI] 전체 응답: " + response);
+        log("[AI] 응답 파싱 시작...");
+        log("[AI] 전체 응답: " + response);
         
         try {
             // 방법 1: 정규표현식으로 "MOVE: 숫자, 숫자" 패턴 찾기
@@ -203,13 +771,13 @@ public class AIPlayer {
                     int x = Integer.parseInt(matcher.group(1));
                     int y = Integer.parseInt(matcher.group(2));
                     
-                    System.out.println("[AI] 패턴 매칭 발견 #" + matchCount + ": (" + x + ", " + y + ")");
+                    log("[AI] 패턴 매칭 발견 #" + matchCount + ": (" + x + ", " + y + ")");
 
                     // 유효한 수인지 검증
                     for (int[] move : validMoves) {
                         if (move[0] == x && move[1] == y) {
                             finalMove = move;
-                            System.out.println("[AI] 유효한 수 확인됨: (" + x + ", " + y + ")");
+                            log("[AI] 유효한 수 확인됨: (" + x + ", " + y + ")");
                             break;
                         }
                     }
@@ -219,12 +787,12 @@ public class AIPlayer {
             }
 
             if (finalMove != null) {
-                System.out.println("[AI] 최종 선택된 수: (" + finalMove[0] + ", " + finalMove[1] + ")");
+                log("[AI] 최종 선택된 수: (" + finalMove[0] + ", " + finalMove[1] + ")");
                 return finalMove;
             }
 
             // 방법 2: MOVE: 패턴을 못 찾았다면, 괄호 안의 좌표 찾기 [x, y]
-            System.out.println("[AI] MOVE: 패턴 없음, [x, y] 형식 검색 중...");
+            log("[AI] MOVE: 패턴 없음, [x, y] 형식 검색 중...");
             Pattern bracketPattern = Pattern.compile("\\[(\\d+)\\s*,\\s*(\\d+)\\]");
             Matcher bracketMatcher = bracketPattern.matcher(response);
             
@@ -233,11 +801,11 @@ public class AIPlayer {
                     int x = Integer.parseInt(bracketMatcher.group(1));
                     int y = Integer.parseInt(bracketMatcher.group(2));
                     
-                    System.out.println("[AI] 괄호 형식 발견: [" + x + ", " + y + "]");
+                    log("[AI] 괄호 형식 발견: [" + x + ", " + y + "]");
                     
                     for (int[] move : validMoves) {
                         if (move[0] == x && move[1] == y) {
-                            System.out.println("[AI] 유효한 수 확인됨: [" + x + ", " + y + "]");
+                            log("[AI] 유효한 수 확인됨: [" + x + ", " + y + "]");
                             return move;
                         }
                     }
@@ -247,13 +815,13 @@ public class AIPlayer {
             }
 
             // 방법 3: 숫자만 추출하여 뒤에서부터 유효한 좌표 찾기
-            System.out.println("[AI] 패턴 매칭 실패, 숫자 추출 방식 시도...");
+            log("[AI] 패턴 매칭 실패, 숫자 추출 방식 시도...");
             String clean = response.replaceAll("[^0-9,\\s]", "");
-            System.out.println("[AI] 정제된 텍스트: " + clean);
+            log("[AI] 정제된 텍스트: " + clean);
             
             if (clean.contains(",")) {
                 String[] parts = clean.split("[,,\\s]+");
-                System.out.println("[AI] 추출된 숫자 조각: " + Arrays.toString(parts));
+                log("[AI] 추출된 숫자 조각: " + Arrays.toString(parts));
                 
                 // 뒤에서부터 2개씩 짝지어 유효한 좌표인지 확인
                 for (int i = parts.length - 2; i >= 0; i--) {
@@ -263,10 +831,10 @@ public class AIPlayer {
                         
                         // 0~7 범위 체크
                         if (x >= 0 && x < 8 && y >= 0 && y < 8) {
-                            System.out.println("[AI] 숫자 조합 시도: (" + x + ", " + y + ")");
+                            log("[AI] 숫자 조합 시도: (" + x + ", " + y + ")");
                             for (int[] move : validMoves) {
                                 if (move[0] == x && move[1] == y) {
-                                    System.out.println("[AI] 유효한 수 확인됨: (" + x + ", " + y + ")");
+                                    log("[AI] 유효한 수 확인됨: (" + x + ", " + y + ")");
                                     return move;
                                 }
                             }
@@ -287,121 +855,7 @@ public class AIPlayer {
             validMoves.stream()
                 .map(m -> "(" + m[0] + "," + m[1] + ")")
                 .collect(Collectors.joining(", ")));
-        System.err.println("[AI] 랜덤 수로 대체합니다.");
-        return validMoves.get(random.nextInt(validMoves.size()));
-    }
-
-    // --- HTTP 통신 로직 (제공해주신 코드 기반) ---
-
-    private String callGeminiApi(String prompt) throws Exception {
-        String urlString = API_BASE_URL + MODEL_NAME + ":generateContent?key=" + API_KEY;
-        System.out.println("[AI] API URL: " + API_BASE_URL + MODEL_NAME + ":generateContent?key=" + (API_KEY.length() > 10 ? API_KEY.substring(0, 10) + "..." : "INVALID"));
-        
-        URL url = java.net.URI.create(urlString).toURL();
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setConnectTimeout(5000); // 5초 연결 타임아웃 (빠르게)
-        conn.setReadTimeout(15000); // 15초 읽기 타임아웃 (빠르게)
-        conn.setDoOutput(true);
-
-        // JSON 이스케이프 처리 개선
-        String escapedPrompt = prompt
-            .replace("\\", "\\\\")
-            .replace("\"", "\\\"")
-            .replace("\n", "\\n")
-            .replace("\r", "\\r")
-            .replace("\t", "\\t");
-        
-        String jsonInputString = String.format(
-                "{\"contents\": [{\"parts\": [{\"text\": \"%s\"}]}]}",
-                escapedPrompt
-        );
-
-        System.out.println("[AI] 요청 전송 중... (프롬프트 길이: " + prompt.length() + "자)");
-        
-        try (OutputStream os = conn.getOutputStream()) {
-            byte[] input = jsonInputString.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
-            os.flush();
-        }
-
-        int responseCode = conn.getResponseCode();
-        System.out.println("[AI] HTTP 응답 코드: " + responseCode);
-        
-        if (responseCode == 200) {
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = br.readLine()) != null) {
-                    response.append(line);
-                }
-
-                String responseStr = response.toString();
-                System.out.println("[AI] 응답 본문 길이: " + responseStr.length() + "자");
-                
-                JSONObject jsonResponse = new JSONObject(responseStr);
-                
-                // 응답 구조 확인 및 안전하게 파싱
-                if (!jsonResponse.has("candidates")) {
-                    throw new RuntimeException("API 응답에 'candidates' 필드가 없습니다: " + responseStr);
-                }
-                
-                if (jsonResponse.getJSONArray("candidates").length() == 0) {
-                    throw new RuntimeException("API 응답에 후보가 없습니다: " + responseStr);
-                }
-                
-                JSONObject candidate = jsonResponse.getJSONArray("candidates").getJSONObject(0);
-                
-                // safetyRatings 확인 (차단되었는지 확인)
-                if (candidate.has("finishReason") && !candidate.getString("finishReason").equals("STOP")) {
-                    String reason = candidate.getString("finishReason");
-                    throw new RuntimeException("API 응답이 차단되었습니다. 이유: " + reason);
-                }
-                
-                JSONObject content = candidate.getJSONObject("content");
-                JSONArray parts = content.getJSONArray("parts");
-                
-                if (parts.length() == 0) {
-                    throw new RuntimeException("API 응답에 'parts'가 없습니다: " + responseStr);
-                }
-                
-                String text = parts.getJSONObject(0).getString("text");
-                System.out.println("[AI] 추출된 텍스트: " + (text.length() > 200 ? text.substring(0, 200) + "..." : text));
-                return text;
-            }
-        } else {
-            // 에러 응답 상세 출력
-            StringBuilder errorResponse = new StringBuilder();
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(conn.getErrorStream(), StandardCharsets.UTF_8))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    errorResponse.append(line);
-                }
-            } catch (Exception e) {
-                errorResponse.append("에러 스트림 읽기 실패: " + e.getMessage());
-            }
-            
-            String errorMsg = errorResponse.toString();
-            System.err.println("[AI] API 에러 응답:");
-            System.err.println("  - HTTP 코드: " + responseCode);
-            System.err.println("  - 응답 내용: " + errorMsg);
-            
-            // JSON 에러 응답 파싱 시도
-            try {
-                JSONObject errorJson = new JSONObject(errorMsg);
-                if (errorJson.has("error")) {
-                    JSONObject error = errorJson.getJSONObject("error");
-                    String message = error.has("message") ? error.getString("message") : "알 수 없는 오류";
-                    String status = error.has("status") ? error.getString("status") : "UNKNOWN";
-                    throw new RuntimeException("Gemini API 오류 [" + status + "]: " + message);
-                }
-            } catch (Exception e) {
-                // JSON 파싱 실패 시 원본 메시지 사용
-            }
-            
-            throw new RuntimeException("HTTP Error " + responseCode + ": " + errorMsg);
-        }
+        System.err.println("[AI] 로컬 탐색 엔진으로 대체합니다.");
+        return null;
     }
 }
-
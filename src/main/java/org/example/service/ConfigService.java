@@ -1,5 +1,7 @@
 package org.example.service;
 
+import org.example.model.GameModel;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
@@ -51,6 +53,41 @@ public class ConfigService {
         }
     }
     
+    /**
+     * 서버 방식 (blocking: 연결마다 스레드, virtual: 연결마다 가상 스레드, nio: Selector 기반 논블로킹)
+     */
+    public static String getServerMode() {
+        return properties.getProperty("server.mode", "blocking").trim().toLowerCase();
+    }
+    
+    /**
+     * 게임 방 유휴 제한 시간 (초, 이 시간 동안 메시지가 없으면 방을 닫고 연결을 끊음, 0 이하면 끄기)
+     */
+    public static int getRoomIdleTimeoutSeconds() {
+        return getIntProperty("server.room.idleTimeoutSec", 600);
+    }
+    
+    /**
+     * 온라인 대전에서 바이너리 프로토콜 사용 여부 (false 이면 텍스트 프로토콜, 예전 서버에 접속할 때 사용)
+     */
+    public static boolean isBinaryProtocolEnabled() {
+        return getBooleanProperty("network.binaryProtocol", true);
+    }
+    
+    /**
+     * 서버에서 연결당 보내지 못한 메시지 최대 크기 (바이트, 넘으면 받지 못하는 클라이언트로 보고 연결을 끊음)
+     */
+    public static int getOutboundQueueLimitBytes() {
+        return getIntProperty("server.outboundQueueBytes", 256 * 1024);
+    }
+    
+    /**
+     * 미니게임 상태 초당 최대 전송 횟수 (클라이언트 전송과 서버 중계에 모두 적용, 같은 간격 안에서는 마지막 상태만 보냄)
+     */
+    public static int getMinigameUpdateRate() {
+        return Math.max(1, getIntProperty("network.minigame.updateHz", 20));
+    }
+    
     /**
      * 서버 IP 주소 설정 (런타임에 변경 가능)
      */
@@ -58,6 +95,149 @@ public class ConfigService {
         properties.setProperty("server.ip", ip);
     }
     
+    /**
+     * 고급(HARD) AI 탐색 시간 제한 (밀리초)
+     */
+    public static long getAiSearchTimeMillis() {
+        return getIntProperty("ai.search.timeMs", 800);
+    }
+    
+    /**
+     * AI 수 계산 응답 기한 (밀리초, 탐색 및 종반 완전 탐색 시간은 이 안으로 제한됨)
+     */
+    public static long getAiMoveDeadlineMillis() {
+        return getIntProperty("ai.move.deadlineMs", 3000);
+    }
+    
+    /**
+     * AI 병렬 탐색 스레드 수 (0 이하이면 사용 가능한 코어 수)
+     */
+    public static int getAiSearchThreads() {
+        int threads = getIntProperty("ai.search.threads", 0);
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+    
+    /**
+     * AI 치환표 크기 (MB)
+     */
+    public static int getTranspositionTableSizeMb() {
+        return Math.max(1, getIntProperty("ai.tt.sizeMb", 64));
+    }
+    
+    /**
+     * 종반 완전 탐색을 시작할 남은 빈칸 수
+     */
+    public static int getEndgameEmpties() {
+        return getIntProperty("ai.endgame.empties", 16);
+    }
+    
+    /**
+     * 종반 완전 탐색 시간 제한 (밀리초, 초과 시 일반 탐색으로 대체)
+     */
+    public static long getEndgameTimeMillis() {
+        return getIntProperty("ai.endgame.timeMs", 2000);
+    }
+    
+    /**
+     * 상대 차례에 예측 탐색(pondering)을 할지 여부 (난이도별, 기본: 고급만 사용)
+     */
+    public static boolean isPonderingEnabled(GameModel.Difficulty difficulty) {
+        if (difficulty == GameModel.Difficulty.EASY) return false;
+        return getBooleanProperty("ai.ponder." + difficulty.name().toLowerCase(),
+                difficulty == GameModel.Difficulty.HARD);
+    }
+    
+    /**
+     * 난이도별 MCTS 사용 여부 (true 이면 해당 난이도의 기본 방식 대신 MCTS 로만 수를 고름)
+     */
+    public static boolean isMctsEnabled(GameModel.Difficulty difficulty) {
+        return getBooleanProperty("ai.mcts." + difficulty.name().toLowerCase(), false);
+    }
+    
+    /**
+     * 난이도별 MCTS 플레이아웃 수 (0 이하이면 시간 제한(ai.search.timeMs)만 적용)
+     */
+    public static int getMctsPlayouts(GameModel.Difficulty difficulty) {
+        int defaultPlayouts;
+        switch (difficulty) {
+            case EASY: defaultPlayouts = 300; break;
+            case MEDIUM: defaultPlayouts = 5000; break;
+            default: defaultPlayouts = 0; break;
+        }
+        return getIntProperty("ai.mcts.playouts." + difficulty.name().toLowerCase(), defaultPlayouts);
+    }
+    
+    /**
+     * MCTS 트리(작업 스레드) 수 (0 이하이면 사용 가능한 코어 수)
+     */
+    public static int getMctsThreads() {
+        int threads = getIntProperty("ai.mcts.threads", 0);
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+    
+    /**
+     * 오프닝 북 파일 경로 (OpeningBookBuilder 로 생성, 파일이 없으면 북 없이 진행)
+     */
+    public static String getOpeningBookPath() {
+        return properties.getProperty("ai.book.path", "opening.book");
+    }
+    
+    /**
+     * 패턴 평가 가중치 파일 경로 (PatternWeightFitter 로 생성, 파일이 없으면 위치 기반 평가 사용)
+     */
+    public static String getPatternWeightsPath() {
+        return properties.getProperty("ai.eval.patterns", "patterns.weights");
+    }
+    
+    /**
+     * 고급(HARD) 난이도에서 Gemini API를 사용할지 여부 (기본: 로컬 탐색 엔진만 사용)
+     */
+    public static boolean isGeminiEnabledForHard() {
+        return getBooleanProperty("ai.hard.useGemini", false);
+    }
+    
+    /**
+     * 헤지 모드 사용 여부: Gemini 요청과 로컬 탐색을 동시에 진행하고 기한 안에 온 Gemini 응답만 사용
+     */
+    public static boolean isGeminiHedgeEnabled() {
+        return getBooleanProperty("ai.hard.hedge", true);
+    }
+    
+    /**
+     * 헤지 모드에서 Gemini 응답을 기다리는 기한 (밀리초, 넘기면 로컬 탐색 결과 사용)
+     */
+    public static long getGeminiDeadlineMillis() {
+        return getIntProperty("ai.hard.geminiDeadlineMs", 2000);
+    }
+    
+    /**
+     * Gemini API 기본 URL (모델 이름 앞까지, 로컬 스텁 서버로 바꿔 테스트 가능)
+     */
+    public static String getGeminiBaseUrl() {
+        return properties.getProperty("gemini.api.baseUrl", "https://generativelanguage.googleapis.com/v1beta/models/");
+    }
+    
+    /**
+     * Gemini 모델 이름
+     */
+    public static String getGeminiModelName() {
+        return properties.getProperty("gemini.model", "gemini-2.0-flash");
+    }
+    
+    /**
+     * Gemini 응답 캐시 최대 항목 수
+     */
+    public static int getGeminiCacheSize() {
+        return getIntProperty("gemini.cache.size", 1024);
+    }
+    
+    /**
+     * Gemini 응답 캐시 유효 시간 (밀리초)
+     */
+    public static long getGeminiCacheTtlMillis() {
+        return getIntProperty("gemini.cache.ttlSeconds", 600) * 1000L;
+    }
+    
     /**
      * Gemini API 키 반환
      */
@@ -76,5 +256,21 @@ public class ConfigService {
         
         return null;
     }
+    
+    private static int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    
+    private static boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
 }
-
@@ -0,0 +1,349 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 종반 완전 탐색기 (남은 빈칸이 적을 때 정확한 최종 돌 차이를 계산)
+ * - 빈칸이 많을 때: 상대 이동성이 적은 수부터 탐색 (fastest-first)
+ * - 빈칸이 적을 때: 빈칸 수가 홀수인 사분면의 수부터 탐색 (parity ordering)
+ * - 마지막 4칸 이하: 수 생성 없이 빈칸 목록에 직접 뒤집기를 시도하는 전용 루틴
+ * 빈칸이 많은 노드는 PVS(null window)로 탐색하고, 결과를 종반 전용 치환표에 저장합니다.
+ * 점수는 둘 차례인 플레이어 관점의 돌 차이이며, 남은 빈칸은 승자에게 더해집니다.
+ * 한 인스턴스는 한 번에 하나의 탐색만 수행할 수 있습니다.
+ */
+public class EndgameSolver {
+
+    public static final int NO_MOVE = SearchEngine.NO_MOVE;
+
+    private static final int SCORE_MAX = 64;
+    private static final int FASTEST_FIRST_EMPTIES = 7; // 이보다 빈칸이 많으면 fastest-first 정렬
+    private static final int SMALL_EMPTIES = 4;
+    private static final int TIME_CHECK_MASK = 4095;
+    private static final int MAX_MOVES = 40; // 한 국면의 최대 합법 수(33)보다 여유 있게
+    private static final int TT_MIN_EMPTIES = 10;
+
+    private static final long[] QUADRANTS = {
+        0x000000000F0F0F0FL, 0x00000000F0F0F0F0L,
+        0x0F0F0F0F00000000L, 0xF0F0F0F000000000L
+    };
+
+    // 깊이(빈칸 수)별 수 정렬 버퍼 (탐색 중 객체 생성 방지)
+    private final int[][] moveBuffer = new int[65][MAX_MOVES];
+    private final long[][] flipBuffer = new long[65][MAX_MOVES];
+    private final int[][] keyBuffer = new int[65][MAX_MOVES];
+
+    private final TranspositionTable tt;
+
+    private long nodes;
+    private long deadlineNanos;
+    private boolean aborted;
+    private volatile boolean stopRequested;
+    private BooleanSupplier cancelled = SearchEngine.NEVER;
+    private int bestScore;
+
+    public EndgameSolver(TranspositionTable tt) {
+        this.tt = tt;
+    }
+
+    public EndgameSolver() {
+        this(new TranspositionTable(16));
+    }
+
+    /**
+     * 완전 탐색으로 최선의 수를 찾음
+     * @return 칸 번호, 둘 곳이 없거나 제한 시간 안에 끝나지 않으면 NO_MOVE
+     */
+    public int findBestMove(long player, long opponent, long timeBudgetMillis) {
+        return findBestMove(player, opponent, timeBudgetMillis, SearchEngine.NEVER);
+    }
+
+    /**
+     * @param cancelled 요청 단위 중단 조건 (시간 확인 때마다 호출)
+     */
+    public int findBestMove(long player, long opponent, long timeBudgetMillis, BooleanSupplier cancelled) {
+        nodes = 0;
+        bestScore = 0;
+        aborted = false;
+        stopRequested = false;
+        this.cancelled = cancelled;
+        deadlineNanos = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        tt.newSearch();
+
+        long moves = Bitboard.moves(player, opponent);
+        if (moves == 0L) {
+            return NO_MOVE;
+        }
+
+        int empties = Long.bitCount(~(player | opponent));
+        int count = orderMoves(player, opponent, moves, empties);
+        int[] order = moveBuffer[empties];
+        long[] flips = flipBuffer[empties];
+
+        int alpha = -SCORE_MAX - 1;
+        int best = NO_MOVE;
+        for (int i = 0; i < count; i++) {
+            int sq = order[i];
+            long f = flips[i];
+            long nextPlayer = opponent & ~f;
+            long nextOpponent = player | f | (1L << sq);
+            int score;
+            if (i == 0) {
+                score = -solve(nextPlayer, nextOpponent, -SCORE_MAX - 1, -alpha, empties - 1, false);
+            } else {
+                score = -solve(nextPlayer, nextOpponent, -alpha - 1, -alpha, empties - 1, false);
+                if (score > alpha && !aborted) {
+                    score = -solve(nextPlayer, nextOpponent, -SCORE_MAX - 1, -score, empties - 1, false);
+                }
+            }
+            if (aborted) return NO_MOVE;
+            if (score > alpha) {
+                alpha = score;
+                best = sq;
+            }
+        }
+        bestScore = alpha;
+        return best;
+    }
+
+    private int solve(long player, long opponent, int alpha, int beta, int empties, boolean passed) {
+        if (empties <= SMALL_EMPTIES) {
+            return solveSmall(player, opponent, alpha, beta, empties, passed);
+        }
+        if ((++nodes & TIME_CHECK_MASK) == 0
+                && (stopRequested || cancelled.getAsBoolean() || System.nanoTime() > deadlineNanos)) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        long moves = Bitboard.moves(player, opponent);
+        if (moves == 0L) {
+            if (passed) {
+                return finalScore(player, opponent);
+            }
+            return -solve(opponent, player, -beta, -alpha, empties, true);
+        }
+
+        int best = -SCORE_MAX - 1;
+        if (empties > FASTEST_FIRST_EMPTIES) {
+            return solveOrdered(player, opponent, moves, alpha, beta, empties);
+        }
+
+        // 홀수 빈칸 사분면의 수를 먼저 탐색
+        long odd = oddQuadrants(~(player | opponent));
+        for (int pass = 0; pass < 2; pass++) {
+            long group = pass == 0 ? moves & odd : moves & ~odd;
+            for (long m = group; m != 0; m &= m - 1) {
+                int sq = Long.numberOfTrailingZeros(m);
+                long f = Bitboard.flips(player, opponent, sq);
+                int score = -solve(opponent & ~f, player | f | (1L << sq), -beta, -alpha, empties - 1, false);
+                if (aborted) return 0;
+                if (score > best) {
+                    best = score;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) return best;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * fastest-first 정렬 + PVS + 치환표 (빈칸이 많은 노드)
+     */
+    private int solveOrdered(long player, long opponent, long moves, int alpha, int beta, int empties) {
+        long key = 0L;
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (empties >= TT_MIN_EMPTIES) {
+            key = TranspositionTable.key(player, opponent);
+            long entry = tt.probe(key);
+            if (entry != 0L) {
+                int stored = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && stored >= beta)
+                        || (bound == TranspositionTable.UPPER && stored <= alpha)) {
+                    return stored;
+                }
+                hashMove = TranspositionTable.move(entry);
+            }
+        }
+
+        int count = orderMoves(player, opponent, moves, empties);
+        int[] order = moveBuffer[empties];
+        long[] flips = flipBuffer[empties];
+        if (hashMove != TranspositionTable.NO_MOVE) {
+            promote(order, flips, count, hashMove);
+        }
+
+        int originalAlpha = alpha;
+        int best = -SCORE_MAX - 1;
+        int bestMove = TranspositionTable.NO_MOVE;
+        for (int i = 0; i < count; i++) {
+            int sq = order[i];
+            long f = flips[i];
+            long nextPlayer = opponent & ~f;
+            long nextOpponent = player | f | (1L << sq);
+            int score;
+            if (i == 0) {
+                score = -solve(nextPlayer, nextOpponent, -beta, -alpha, empties - 1, false);
+            } else {
+                score = -solve(nextPlayer, nextOpponent, -alpha - 1, -alpha, empties - 1, false);
+                if (score > alpha && score < beta && !aborted) {
+                    score = -solve(nextPlayer, nextOpponent, -beta, -score, empties - 1, false);
+                }
+            }
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                bestMove = sq;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+
+        if (empties >= TT_MIN_EMPTIES) {
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                    : best >= beta ? TranspositionTable.LOWER
+                    : TranspositionTable.EXACT;
+            tt.store(key, empties, bound, best, bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * 치환표의 최선 수를 정렬 목록 맨 앞으로 이동
+     */
+    private static void promote(int[] order, long[] flips, int count, int move) {
+        for (int i = 1; i < count; i++) {
+            if (order[i] == move) {
+                long f = flips[i];
+                System.arraycopy(order, 0, order, 1, i);
+                System.arraycopy(flips, 0, flips, 1, i);
+                order[0] = move;
+                flips[0] = f;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 마지막 4칸 이하 전용: 수 생성 대신 빈칸마다 뒤집기를 직접 계산 (홀수 사분면 우선)
+     */
+    private int solveSmall(long player, long opponent, int alpha, int beta, int empties, boolean passed) {
+        nodes++;
+        long empty = ~(player | opponent);
+        if (empties == 1) {
+            return solveLast(player, opponent, Long.numberOfTrailingZeros(empty));
+        }
+
+        int best = -SCORE_MAX - 1;
+        long odd = oddQuadrants(empty);
+        for (int pass = 0; pass < 2; pass++) {
+            long group = pass == 0 ? empty & odd : empty & ~odd;
+            for (long m = group; m != 0; m &= m - 1) {
+                int sq = Long.numberOfTrailingZeros(m);
+                long f = Bitboard.flips(player, opponent, sq);
+                if (f == 0L) continue;
+                int score = -solveSmall(opponent & ~f, player | f | (1L << sq), -beta, -alpha, empties - 1, false);
+                if (score > best) {
+                    best = score;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) return best;
+                    }
+                }
+            }
+        }
+        if (best == -SCORE_MAX - 1) {
+            if (passed) {
+                return finalScore(player, opponent);
+            }
+            return -solveSmall(opponent, player, -beta, -alpha, empties, true);
+        }
+        return best;
+    }
+
+    /**
+     * 빈칸이 하나 남았을 때: 둘 차례인 쪽, 안 되면 상대, 둘 다 못 두면 그대로 종료
+     */
+    private static int solveLast(long player, long opponent, int sq) {
+        long f = Bitboard.flips(player, opponent, sq);
+        if (f != 0L) {
+            int mine = Long.bitCount(player) + Long.bitCount(f) + 1;
+            return mine * 2 - 64;
+        }
+        f = Bitboard.flips(opponent, player, sq);
+        if (f != 0L) {
+            int mine = Long.bitCount(player) - Long.bitCount(f);
+            return mine * 2 - 64;
+        }
+        return finalScore(player, opponent);
+    }
+
+    /**
+     * 상대 이동성 오름차순 (코너는 우선)으로 정렬하여 moveBuffer[empties]에 채움
+     */
+    private int orderMoves(long player, long opponent, long moves, int empties) {
+        int[] order = moveBuffer[empties];
+        long[] flips = flipBuffer[empties];
+        int[] keys = keyBuffer[empties];
+        int count = 0;
+        for (long m = moves; m != 0; m &= m - 1) {
+            int sq = Long.numberOfTrailingZeros(m);
+            long f = Bitboard.flips(player, opponent, sq);
+            long newPlayer = player | f | (1L << sq);
+            long newOpponent = opponent & ~f;
+            int key = Long.bitCount(Bitboard.moves(newOpponent, newPlayer)) * 4;
+            if (((1L << sq) & PositionalEvaluator.CORNERS) != 0) key -= 8;
+
+            // 삽입 정렬
+            int i = count++;
+            while (i > 0 && keys[i - 1] > key) {
+                keys[i] = keys[i - 1];
+                order[i] = order[i - 1];
+                flips[i] = flips[i - 1];
+                i--;
+            }
+            keys[i] = key;
+            order[i] = sq;
+            flips[i] = f;
+        }
+        return count;
+    }
+
+    private static long oddQuadrants(long empty) {
+        long odd = 0L;
+        for (long quadrant : QUADRANTS) {
+            if ((Long.bitCount(empty & quadrant) & 1) != 0) {
+                odd |= quadrant;
+            }
+        }
+        return odd;
+    }
+
+    /**
+     * 최종 돌 차이 (남은 빈칸은 승자에게)
+     */
+    static int finalScore(long player, long opponent) {
+        int mine = Long.bitCount(player);
+        int theirs = Long.bitCount(opponent);
+        int diff = mine - theirs;
+        int empties = 64 - mine - theirs;
+        if (diff > 0) return diff + empties;
+        if (diff < 0) return diff - empties;
+        return 0;
+    }
+
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public long getNodes() { return nodes; }
+    public int getBestScore() { return bestScore; }
+}
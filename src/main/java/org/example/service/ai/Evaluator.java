@@ -0,0 +1,15 @@
+package org.example.service.ai;
+
+/**
+ * 탐색 말단 국면의 정적 평가 함수 (둘 차례인 플레이어 관점의 점수)
+ * 구현은 객체를 생성하지 않아야 하며, 내부 상태가 있으면 탐색 스레드마다 별도의 인스턴스를 사용합니다.
+ */
+public interface Evaluator {
+
+    /**
+     * @param player 둘 차례인 플레이어의 돌
+     * @param opponent 상대방의 돌
+     * @return 클수록 player 에게 유리한 점수
+     */
+    int evaluate(long player, long opponent);
+}
@@ -0,0 +1,321 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+import org.example.model.GameModel;
+import org.example.model.Position;
+import org.example.service.AIPlayer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AI 대국 실행기 (오프라인 실행용, UI 없음)
+ * 두 AIPlayer 설정(A, B)을 수천 판 대국시켜 엔진 변경이 실제로 강해졌는지 확인합니다.
+ * - 초반 몇 수를 무작위로 둔 같은 국면을 색을 바꿔 두 번씩 대국 (선후 유불리 상쇄)
+ * - 코어 수만큼 대국을 병렬로 진행하며, 각 작업 스레드는 대국자별 엔진 설정으로 만든 자신만의 AIPlayer를 사용 (기본 1스레드 탐색 + 작은 치환표)
+ * - A 기준 승/무/패, Elo 차이와 95% 신뢰구간, 수당 평균 시간과 초당 노드 수를 출력
+ *
+ * 사용법:
+ *   MatchRunner <A 설정> <B 설정> [--games 1000] [--threads 코어수] [--randomPlies 8] [--seed 1] [--ttMb 16]
+ * 설정은 "난이도[:수당 시간(ms)][,옵션=값...]" 형식입니다. (예: HARD:100, MEDIUM, HARD:100,eval=weights.bin,tt=32)
+ * - eval: 패턴 가중치 파일 경로 또는 positional (기본: ai.eval.patterns 설정)
+ * - threads: 탐색 스레드 수 (기본 1), tt: 치환표 크기 MB (기본 --ttMb), mcts: on/off (기본: 난이도별 ai.mcts.* 설정)
+ * 수당 시간은 응답 기한으로 전달되며 ai.search.timeMs 를 넘지 않습니다.
+ * Gemini 사용 여부는 config.properties 설정을 그대로 따르므로, 측정 시에는 꺼 두는 것을 권장합니다.
+ */
+public class MatchRunner {
+
+    private static final int PROGRESS_INTERVAL = 100; // 진행 상황 출력 간격 (대국 수)
+
+    /**
+     * 대국자 설정: 난이도, 수당 시간, 엔진 설정
+     */
+    static final class Side {
+        final String name;
+        final GameModel.Difficulty difficulty;
+        final long moveTimeMillis;
+        final AIPlayer.EngineOptions engine;
+
+        final LongAdder moves = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder nodes = new LongAdder();
+
+        Side(String name, GameModel.Difficulty difficulty, long moveTimeMillis, AIPlayer.EngineOptions engine) {
+            this.name = name;
+            this.difficulty = difficulty;
+            this.moveTimeMillis = moveTimeMillis;
+            this.engine = engine;
+        }
+
+        /**
+         * @param ttSizeMb tt 옵션이 없을 때의 치환표 크기
+         */
+        static Side parse(String name, String spec, int ttSizeMb) throws IOException {
+            String[] fields = spec.split(",");
+            String[] parts = fields[0].split(":");
+            GameModel.Difficulty difficulty = GameModel.Difficulty.valueOf(parts[0].trim().toUpperCase());
+            long timeMs = parts.length > 1 ? Long.parseLong(parts[1].trim()) : 100;
+
+            // 여러 대국이 동시에 돌므로 기본은 1스레드 탐색, 로그 없음
+            AIPlayer.EngineOptions engine = AIPlayer.EngineOptions.defaults()
+                    .withSearchThreads(1).withTtSizeMb(ttSizeMb).withQuiet(true);
+            for (int i = 1; i < fields.length; i++) {
+                String[] option = fields[i].split("=", 2);
+                if (option.length != 2) {
+                    throw new IllegalArgumentException(name + " 설정의 옵션 형식이 잘못되었습니다: " + fields[i]);
+                }
+                String value = option[1].trim();
+                switch (option[0].trim()) {
+                    case "eval":
+                        engine = value.equalsIgnoreCase("positional")
+                                ? engine.withPositionalEvaluator()
+                                : engine.withPatternWeights(Paths.get(value));
+                        break;
+                    case "threads": engine = engine.withSearchThreads(Integer.parseInt(value)); break;
+                    case "tt": engine = engine.withTtSizeMb(Integer.parseInt(value)); break;
+                    case "mcts": engine = engine.withMcts(value.equalsIgnoreCase("on")); break;
+                    default:
+                        throw new IllegalArgumentException(name + " 설정에 알 수 없는 옵션: " + option[0]);
+                }
+            }
+            return new Side(name, difficulty, timeMs, engine);
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + difficulty + ":" + moveTimeMillis + "ms";
+        }
+    }
+
+    private final Side a;
+    private final Side b;
+    private final int randomPlies;
+
+    // A 기준 결과
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder losses = new LongAdder();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    public MatchRunner(Side a, Side b, int randomPlies) {
+        this.a = a;
+        this.b = b;
+        this.randomPlies = randomPlies;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("사용법: MatchRunner <A 설정> <B 설정> [--games 1000] [--threads 코어수] [--randomPlies 8] [--seed 1] [--ttMb 16]");
+            System.out.println("  설정 형식: 난이도[:수당 시간(ms)][,옵션=값...]  예) HARD:100 MEDIUM HARD:100,eval=weights.bin,tt=32");
+            System.out.println("  옵션: eval=<가중치 파일>|positional, threads=<탐색 스레드>, tt=<치환표 MB>, mcts=on|off");
+            return;
+        }
+        int games = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int randomPlies = 8;
+        long seed = 1;
+        int ttMb = 16;
+        for (int i = 2; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games": games = Integer.parseInt(args[i + 1]); break;
+                case "--threads": threads = Integer.parseInt(args[i + 1]); break;
+                case "--randomPlies": randomPlies = Integer.parseInt(args[i + 1]); break;
+                case "--seed": seed = Long.parseLong(args[i + 1]); break;
+                case "--ttMb": ttMb = Integer.parseInt(args[i + 1]); break;
+                default:
+                    System.out.println("알 수 없는 옵션: " + args[i]);
+                    return;
+            }
+        }
+
+        Side a = Side.parse("A", args[0], ttMb);
+        Side b = Side.parse("B", args[1], ttMb);
+        new MatchRunner(a, b, randomPlies).run(games, Math.max(1, threads), seed);
+    }
+
+    /**
+     * 대국 실행 및 결과 출력
+     * @param games 총 대국 수 (색을 바꾼 쌍 단위이므로 홀수면 1 늘림)
+     */
+    public void run(int games, int threads, long seed) throws Exception {
+        int pairs = (games + 1) / 2;
+        System.out.println("[Match] " + a + " vs " + b + ", " + pairs * 2 + "판, 스레드 " + threads
+                + ", 무작위 초반 " + randomPlies + "수, 시드 " + seed);
+        System.out.println("[Match] " + a.name + " 엔진: " + a.engine);
+        System.out.println("[Match] " + b.name + " 엔진: " + b.engine);
+        long start = System.nanoTime();
+
+        AtomicInteger nextPair = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "match-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    // 작업 스레드마다 자신만의 AIPlayer (탐색 상태와 치환표를 공유하지 않음)
+                    try (AIPlayer playerA = new AIPlayer(new GameModel(), a.engine);
+                         AIPlayer playerB = new AIPlayer(new GameModel(), b.engine)) {
+                        int pair;
+                        while ((pair = nextPair.getAndIncrement()) < pairs) {
+                            Position opening = randomOpening(new Random(seed * 1_000_003L + pair));
+                            int blackResult = playGame(opening, playerA, a, playerB, b); // A 흑
+                            int whiteResult = -playGame(opening, playerB, b, playerA, a); // A 백
+                            record(blackResult);
+                            int done = record(whiteResult);
+                            if (done / PROGRESS_INTERVAL != (done - 2) / PROGRESS_INTERVAL) {
+                                System.out.println("[Match] " + done + "/" + pairs * 2 + "판 " + summary());
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+        System.out.println("[Match] 완료 (" + elapsedMillis / 1000.0 + "초)");
+        System.out.println("[Match] A 기준 " + summary());
+        printSideStats(a);
+        printSideStats(b);
+    }
+
+    /**
+     * 무작위 초반 국면 생성 (종국에 이르면 처음부터 다시)
+     */
+    private Position randomOpening(Random random) {
+        while (true) {
+            long black = Bitboard.INITIAL_BLACK;
+            long white = Bitboard.INITIAL_WHITE;
+            int turn = 1;
+            boolean ended = false;
+            for (int ply = 0; ply < randomPlies && !ended; ply++) {
+                long player = turn == 1 ? black : white;
+                long opponent = turn == 1 ? white : black;
+                long moves = Bitboard.moves(player, opponent);
+                if (moves == 0L) {
+                    ended = Bitboard.moves(opponent, player) == 0L;
+                    turn = 3 - turn;
+                    continue;
+                }
+                int skip = random.nextInt(Long.bitCount(moves));
+                for (int i = 0; i < skip; i++) {
+                    moves &= moves - 1;
+                }
+                int sq = Long.numberOfTrailingZeros(moves);
+                long flips = Bitboard.flips(player, opponent, sq);
+                player |= flips | (1L << sq);
+                opponent &= ~flips;
+                if (turn == 1) { black = player; white = opponent; } else { black = opponent; white = player; }
+                turn = 3 - turn;
+            }
+            if (!ended) {
+                return new Position(black, white, turn);
+            }
+        }
+    }
+
+    /**
+     * 한 판 진행
+     * @return 흑 기준 결과 (1 승, 0 무, -1 패)
+     */
+    private int playGame(Position opening, AIPlayer black, Side blackSide, AIPlayer white, Side whiteSide) throws Exception {
+        long blackBits = opening.getBlackBits();
+        long whiteBits = opening.getWhiteBits();
+        int turn = opening.getTurn();
+        boolean passed = false;
+
+        while (true) {
+            Position position = new Position(blackBits, whiteBits, turn);
+            long moves = position.getValidMoveMask();
+            if (moves == 0L) {
+                if (passed) break; // 양쪽 모두 둘 곳이 없음: 종국
+                passed = true;
+                turn = 3 - turn;
+                continue;
+            }
+            passed = false;
+
+            AIPlayer mover = turn == 1 ? black : white;
+            Side side = turn == 1 ? blackSide : whiteSide;
+            long moveStart = System.nanoTime();
+            int[] move = mover.getBestMove(position, side.difficulty, System.currentTimeMillis() + side.moveTimeMillis);
+            side.nanos.add(System.nanoTime() - moveStart);
+            side.moves.increment();
+            side.nodes.add(mover.getLastNodes());
+
+            int sq = move[1] * 8 + move[0];
+            if ((moves & (1L << sq)) == 0L) {
+                throw new IllegalStateException(side + " 가 둘 수 없는 수를 반환했습니다: (" + move[0] + ", " + move[1] + ")");
+            }
+            long player = position.getPlayer();
+            long opponent = position.getOpponent();
+            long flips = Bitboard.flips(player, opponent, sq);
+            player |= flips | (1L << sq);
+            opponent &= ~flips;
+            if (turn == 1) { blackBits = player; whiteBits = opponent; } else { blackBits = opponent; whiteBits = player; }
+            turn = 3 - turn;
+        }
+        return Integer.signum(Long.bitCount(blackBits) - Long.bitCount(whiteBits));
+    }
+
+    /**
+     * A 기준 결과 기록
+     * @return 지금까지 끝난 대국 수
+     */
+    private int record(int result) {
+        if (result > 0) wins.increment();
+        else if (result < 0) losses.increment();
+        else draws.increment();
+        return finished.incrementAndGet();
+    }
+
+    /**
+     * 승/무/패와 Elo 차이 (95% 신뢰구간) 요약
+     * 판당 점수(승 1, 무 0.5, 패 0)의 표본 분산으로 평균 점수의 구간을 구한 뒤 Elo로 변환합니다.
+     */
+    private String summary() {
+        long w = wins.sum();
+        long d = draws.sum();
+        long l = losses.sum();
+        long n = w + d + l;
+        if (n == 0) return "대국 없음";
+
+        double score = (w + 0.5 * d) / n;
+        double variance = (w * Math.pow(1 - score, 2) + d * Math.pow(0.5 - score, 2) + l * Math.pow(score, 2)) / n;
+        double margin = 1.96 * Math.sqrt(variance / n);
+        return String.format("%d승 %d무 %d패, 점수 %.1f%%, Elo %+.1f (95%% 구간 %+.1f ~ %+.1f)",
+                w, d, l, score * 100, elo(score), elo(score - margin), elo(score + margin));
+    }
+
+    private static double elo(double score) {
+        if (score <= 0) return Double.NEGATIVE_INFINITY;
+        if (score >= 1) return Double.POSITIVE_INFINITY;
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+    private static void printSideStats(Side side) {
+        long moves = side.moves.sum();
+        long nanos = side.nanos.sum();
+        long nodes = side.nodes.sum();
+        System.out.printf("[Match] %s: %d수, 수당 평균 %.1fms, 초당 노드 %,.0f%n",
+                side, moves,
+                moves == 0 ? 0.0 : nanos / 1e6 / moves,
+                nanos == 0 ? 0.0 : nodes * 1e9 / nanos);
+    }
+}
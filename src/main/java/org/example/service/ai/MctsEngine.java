@@ -0,0 +1,318 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 몬테카를로 트리 탐색(MCTS/UCT) 엔진
+ * 비트보드 무작위 플레이아웃으로 국면을 평가하며, 플레이아웃 수 또는 시간으로 세기를 조절합니다.
+ * 루트 병렬(root-parallel) 방식: ForkJoinPool 의 작업 스레드마다 독립된 트리를 키운 뒤 루트 수별 방문 수를 합산하여 고릅니다.
+ * 다음 수를 계산할 때 이전 트리에서 실제로 진행된 국면(2수 이내)을 찾아 그 하위 트리를 재사용합니다.
+ * 한 인스턴스는 한 번에 하나의 탐색만 수행할 수 있습니다.
+ */
+public class MctsEngine implements AutoCloseable {
+
+    public static final int NO_MOVE = SearchEngine.NO_MOVE;
+
+    private static final int PASS = -1;
+    private static final double EXPLORATION = 1.0;       // UCT 탐험 상수
+    private static final int MAX_NODES_PER_TREE = 400_000; // 트리당 노드 상한 (넘으면 확장 없이 플레이아웃만)
+    private static final int TIME_CHECK_MASK = 15;         // 시간 확인 주기 (플레이아웃 수, 2의 거듭제곱 - 1)
+    private static final int MAX_PATH = 130;               // 루트부터의 최대 깊이 (수 60 + 패스)
+
+    private final ForkJoinPool pool;
+    private final Node[] roots; // 작업 스레드별 트리 (다음 탐색에서 재사용)
+    private final int[] treeSizes;
+
+    private volatile boolean stopRequested;
+    private long playouts;
+    private int reusedVisits;
+
+    /**
+     * @param threads 트리(작업 스레드) 수
+     */
+    public MctsEngine(int threads) {
+        int count = Math.max(1, threads);
+        this.pool = new ForkJoinPool(count);
+        this.roots = new Node[count];
+        this.treeSizes = new int[count];
+    }
+
+    /**
+     * 예산 안에서 최선의 수를 찾음 (두 예산 중 먼저 소진되는 쪽에서 멈춤)
+     * @param player 둘 차례인 플레이어의 돌
+     * @param opponent 상대방의 돌
+     * @param playoutBudget 전체 플레이아웃 수 (0 이하면 제한 없음)
+     * @param timeBudgetMillis 탐색 시간 제한
+     * @return 칸 번호 (y * 8 + x), 둘 곳이 없으면 NO_MOVE
+     */
+    public int findBestMove(long player, long opponent, int playoutBudget, long timeBudgetMillis) {
+        return findBestMove(player, opponent, playoutBudget, timeBudgetMillis, SearchEngine.NEVER);
+    }
+
+    /**
+     * @param cancelled 요청 단위 중단 조건 (시간 확인 때마다 호출)
+     */
+    public synchronized int findBestMove(long player, long opponent, int playoutBudget, long timeBudgetMillis,
+                                         BooleanSupplier cancelled) {
+        stopRequested = false;
+        playouts = 0;
+        reusedVisits = 0;
+
+        long moves = Bitboard.moves(player, opponent);
+        if (moves == 0L) return NO_MOVE;
+        if (Long.bitCount(moves) == 1) return Long.numberOfTrailingZeros(moves);
+
+        long deadlineNanos = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        int quota = playoutBudget > 0 ? Math.max(1, playoutBudget / roots.length) : Integer.MAX_VALUE;
+
+        TreeWorker[] workers = new TreeWorker[roots.length];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            Node reused = findDescendant(roots[i], player, opponent);
+            if (reused != null) {
+                reusedVisits += reused.visits;
+                treeSizes[i] = reused.size();
+            } else {
+                reused = new Node(player, opponent, PASS);
+                treeSizes[i] = 1;
+            }
+            roots[i] = reused;
+            workers[i] = new TreeWorker(i, quota, deadlineNanos, cancelled);
+            tasks[i] = ForkJoinTask.adapt(workers[i]);
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        // 루트 수별 방문 수 합산 (가장 많이 방문한 수 = 가장 믿을 만한 수)
+        long[] visits = new long[64];
+        for (Node root : roots) {
+            for (int c = 0; c < root.childCount; c++) {
+                Node child = root.children[c];
+                visits[child.move] += child.visits;
+            }
+        }
+        for (TreeWorker worker : workers) {
+            playouts += worker.done;
+        }
+        int best = Long.numberOfTrailingZeros(moves);
+        for (long m = moves; m != 0; m &= m - 1) {
+            int sq = Long.numberOfTrailingZeros(m);
+            if (visits[sq] > visits[best]) best = sq;
+        }
+        return best;
+    }
+
+    /**
+     * 진행 중인 탐색을 중단 (지금까지의 방문 수로 수를 고름)
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * 저장된 트리를 모두 버림 (새 게임 시작 등)
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = null;
+            treeSizes[i] = 0;
+        }
+    }
+
+    /**
+     * 작업 스레드 풀 종료 (이후에는 탐색할 수 없음)
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    public int getThreadCount() { return roots.length; }
+    public long getPlayouts() { return playouts; }
+    public int getReusedVisits() { return reusedVisits; }
+
+    /**
+     * 이전 트리에서 같은 국면의 노드를 찾음 (루트 자신, 또는 2수 이내의 자식)
+     */
+    private static Node findDescendant(Node root, long player, long opponent) {
+        if (root == null) return null;
+        if (root.player == player && root.opponent == opponent) return root;
+        for (int c = 0; c < root.childCount; c++) {
+            Node child = root.children[c];
+            if (child.player == player && child.opponent == opponent) return child;
+            for (int g = 0; g < child.childCount; g++) {
+                Node grandChild = child.children[g];
+                if (grandChild.player == player && grandChild.opponent == opponent) return grandChild;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 트리 하나를 키우는 작업 (선택 - 확장 - 플레이아웃 - 역전파 반복)
+     * 직렬화할 일이 없으므로 RecursiveAction 을 상속하지 않고 ForkJoinTask.adapt 로 감싸 실행
+     */
+    private final class TreeWorker implements Runnable {
+        private final int index;
+        private final int quota;
+        private final long deadlineNanos;
+        private final BooleanSupplier cancelled;
+        private final Node[] path = new Node[MAX_PATH];
+        private int done;
+
+        TreeWorker(int index, int quota, long deadlineNanos, BooleanSupplier cancelled) {
+            this.index = index;
+            this.quota = quota;
+            this.deadlineNanos = deadlineNanos;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public void run() {
+            Node root = roots[index];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (done < quota && !stopRequested
+                    && ((done & TIME_CHECK_MASK) != 0
+                        || (System.nanoTime() < deadlineNanos && !cancelled.getAsBoolean()))) {
+                // 선택: 모든 수가 펼쳐진 노드에서는 UCT 값이 가장 큰 자식으로 내려감
+                Node node = root;
+                int depth = 0;
+                path[depth++] = node;
+                while (!node.expandable() && node.childCount > 0) {
+                    node = node.select();
+                    path[depth++] = node;
+                }
+                // 확장
+                if (node.expandable() && treeSizes[index] < MAX_NODES_PER_TREE) {
+                    node = node.expand(random);
+                    path[depth++] = node;
+                    treeSizes[index]++;
+                }
+                // 플레이아웃 (node 에서 둘 차례인 쪽의 결과: 1 승, 0.5 무, 0 패)
+                double result = playout(node.player, node.opponent, random);
+                // 역전파: 각 노드의 점수는 그 노드로 수를 둔 쪽(부모의 둘 차례) 관점
+                for (int i = depth - 1; i >= 0; i--) {
+                    Node n = path[i];
+                    n.visits++;
+                    n.score += 1.0 - result;
+                    result = 1.0 - result;
+                }
+                done++;
+            }
+        }
+    }
+
+    /**
+     * 종국까지 무작위로 두어 결과를 반환
+     * @return player 관점의 결과 (1 승, 0.5 무, 0 패)
+     */
+    static double playout(long player, long opponent, ThreadLocalRandom random) {
+        boolean swapped = false;
+        boolean passed = false;
+        while (true) {
+            long moves = Bitboard.moves(player, opponent);
+            if (moves == 0L) {
+                if (passed) break;
+                passed = true;
+            } else {
+                passed = false;
+                int skip = random.nextInt(Long.bitCount(moves));
+                for (int i = 0; i < skip; i++) {
+                    moves &= moves - 1;
+                }
+                int sq = Long.numberOfTrailingZeros(moves);
+                long flips = Bitboard.flips(player, opponent, sq);
+                player |= flips | (1L << sq);
+                opponent &= ~flips;
+            }
+            long t = player;
+            player = opponent;
+            opponent = t;
+            swapped = !swapped;
+        }
+        int diff = Long.bitCount(player) - Long.bitCount(opponent);
+        if (swapped) diff = -diff;
+        return diff > 0 ? 1.0 : diff < 0 ? 0.0 : 0.5;
+    }
+
+    /**
+     * 탐색 트리 노드 (한 작업 스레드만 접근)
+     */
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        final long player;   // 이 노드에서 둘 차례인 플레이어의 돌
+        final long opponent;
+        final int move;      // 부모에서 이 노드로 온 수 (패스 또는 루트는 PASS)
+        long untried;        // 아직 펼치지 않은 수
+        boolean passPending; // 둘 곳이 없어 패스 자식을 펼쳐야 함
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        int visits;
+        double score;        // 부모의 둘 차례 관점 누적 점수
+
+        Node(long player, long opponent, int move) {
+            this.player = player;
+            this.opponent = opponent;
+            this.move = move;
+            this.untried = Bitboard.moves(player, opponent);
+            this.passPending = untried == 0L && Bitboard.moves(opponent, player) != 0L;
+        }
+
+        int size() {
+            int size = 1;
+            for (int c = 0; c < childCount; c++) {
+                size += children[c].size();
+            }
+            return size;
+        }
+
+        boolean expandable() {
+            return untried != 0L || passPending;
+        }
+
+        Node expand(ThreadLocalRandom random) {
+            Node child;
+            if (passPending) {
+                passPending = false;
+                child = new Node(opponent, player, PASS);
+            } else {
+                long m = untried;
+                int skip = random.nextInt(Long.bitCount(m));
+                for (int i = 0; i < skip; i++) {
+                    m &= m - 1;
+                }
+                int sq = Long.numberOfTrailingZeros(m);
+                untried &= ~(1L << sq);
+                long flips = Bitboard.flips(player, opponent, sq);
+                child = new Node(opponent & ~flips, player | flips | (1L << sq), sq);
+            }
+            if (childCount == children.length) {
+                Node[] grown = new Node[Math.max(4, childCount * 2)];
+                System.arraycopy(children, 0, grown, 0, childCount);
+                children = grown;
+            }
+            children[childCount++] = child;
+            return child;
+        }
+
+        Node select() {
+            double logVisits = Math.log(visits);
+            Node best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int c = 0; c < childCount; c++) {
+                Node child = children[c];
+                double value = child.score / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
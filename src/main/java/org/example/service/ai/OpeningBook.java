@@ -0,0 +1,129 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+import org.example.model.Zobrist;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 오프닝 북 (메모리 매핑된 바이너리 파일)
+ * 국면의 8가지 대칭 중 해시가 가장 작은 것을 대표 국면으로 삼아 (해시, 최선 수, 점수) 레코드를 해시 순으로 저장합니다.
+ * 조회는 매핑된 버퍼에서 이진 탐색만 하므로, 파일 크기와 관계없이 로딩 비용이 일정하고 조회는 수 마이크로초 안에 끝납니다.
+ *
+ * 파일 형식 (빅 엔디언):
+ *   헤더: int MAGIC, int 레코드 수
+ *   레코드 (16바이트): long 해시, int 칸 번호 (대표 국면 기준), int 점수 (둘 차례 관점의 평균 돌 차이)
+ * 파일은 OpeningBookBuilder 로 생성합니다.
+ */
+public final class OpeningBook {
+
+    public static final int NO_MOVE = SearchEngine.NO_MOVE;
+
+    static final int MAGIC = 0x4F424B31; // "OBK1"
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_BYTES = 16;
+
+    private static final OpeningBook EMPTY = new OpeningBook(null, 0);
+
+    private final ByteBuffer records;
+    private final int size;
+
+    private OpeningBook(ByteBuffer records, int size) {
+        this.records = records;
+        this.size = size;
+    }
+
+    /**
+     * 북 파일을 읽기 전용으로 매핑
+     * @throws IOException 파일이 없거나 형식이 올바르지 않을 때
+     */
+    public static OpeningBook load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException("오프닝 북 파일이 너무 짧습니다: " + path);
+            }
+            // 매핑은 채널을 닫아도 유지됨
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("오프닝 북 파일 형식이 아닙니다: " + path);
+            }
+            int count = buffer.getInt(4);
+            if (count < 0 || HEADER_BYTES + (long) count * RECORD_BYTES > length) {
+                throw new IOException("오프닝 북 레코드 수가 올바르지 않습니다: " + count);
+            }
+            return new OpeningBook(buffer.slice(HEADER_BYTES, count * RECORD_BYTES), count);
+        }
+    }
+
+    /**
+     * 레코드가 없는 북 (파일이 없을 때 사용)
+     */
+    public static OpeningBook empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 국면의 북 수를 조회
+     * @param player 둘 차례인 플레이어의 돌
+     * @param opponent 상대방의 돌
+     * @return 칸 번호 (y * 8 + x), 북에 없으면 NO_MOVE
+     */
+    public int probe(long player, long opponent) {
+        if (size == 0) return NO_MOVE;
+
+        int sym = canonicalSymmetry(player, opponent);
+        int index = find(canonicalKey(player, opponent, sym));
+        if (index < 0) return NO_MOVE;
+
+        int move = records.getInt(index * RECORD_BYTES + 8);
+        int square = Bitboard.transformSquare(move, Bitboard.inverseSymmetry(sym));
+        // 해시 충돌 대비: 실제로 둘 수 있는 수인지 확인
+        if ((Bitboard.moves(player, opponent) & (1L << square)) == 0) return NO_MOVE;
+        return square;
+    }
+
+    /**
+     * 8가지 대칭 중 해시가 가장 작은 변환 번호 (둘 차례 돌을 흑으로 간주)
+     */
+    static int canonicalSymmetry(long player, long opponent) {
+        int best = 0;
+        long bestKey = canonicalKey(player, opponent, 0);
+        for (int sym = 1; sym < Bitboard.SYMMETRIES; sym++) {
+            long key = canonicalKey(player, opponent, sym);
+            if (Long.compareUnsigned(key, bestKey) < 0) {
+                bestKey = key;
+                best = sym;
+            }
+        }
+        return best;
+    }
+
+    static long canonicalKey(long player, long opponent, int sym) {
+        return Zobrist.hash(Bitboard.transform(player, sym), Bitboard.transform(opponent, sym), 1);
+    }
+
+    // 해시 오름차순(부호 없는 비교)으로 정렬된 레코드에서 이진 탐색
+    private int find(long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Long.compareUnsigned(records.getLong(mid * RECORD_BYTES), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public int size() { return size; }
+}
@@ -0,0 +1,259 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+
+import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 오프닝 북 생성기 (오프라인 실행용)
+ * 기보 파일 또는 자체 대국(self-play)의 초반 국면을 대칭 정규화하여 모으고,
+ * 국면마다 평균 최종 돌 차이가 가장 좋은 수를 골라 OpeningBook 형식의 파일로 저장합니다.
+ *
+ * 사용법:
+ *   OpeningBookBuilder <출력 파일> [--games 기보파일] [--selfplay 대국수] [--plies 20] [--timeMs 50] [--min 2]
+ * 기보 파일은 한 줄에 한 대국이며, "f5d6c3d3..." 처럼 좌표를 이어 씁니다. (# 으로 시작하는 줄은 무시)
+ */
+public class OpeningBookBuilder {
+
+    private static final int RANDOM_PLIES = 6; // 자체 대국에서 다양성을 위해 무작위로 두는 초반 수
+
+    // 대표 국면 해시 -> (대표 국면 기준 칸 번호 -> {대국 수, 돌 차이 합})
+    private final Map<Long, Map<Integer, long[]>> stats = new HashMap<>();
+    private final int maxPlies;
+
+    private int games;
+
+    public OpeningBookBuilder(int maxPlies) {
+        this.maxPlies = maxPlies;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("사용법: OpeningBookBuilder <출력 파일> [--games 기보파일] [--selfplay 대국수] [--plies 20] [--timeMs 50] [--min 2]");
+            return;
+        }
+        Path output = Paths.get(args[0]);
+        Path gamesFile = null;
+        int selfPlay = 0;
+        int plies = 20;
+        int timeMs = 50;
+        int minGames = 2;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games": gamesFile = Paths.get(args[i + 1]); break;
+                case "--selfplay": selfPlay = Integer.parseInt(args[i + 1]); break;
+                case "--plies": plies = Integer.parseInt(args[i + 1]); break;
+                case "--timeMs": timeMs = Integer.parseInt(args[i + 1]); break;
+                case "--min": minGames = Integer.parseInt(args[i + 1]); break;
+                default:
+                    System.err.println("알 수 없는 옵션: " + args[i]);
+                    return;
+            }
+        }
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies);
+        if (gamesFile != null) {
+            builder.importGames(gamesFile);
+        }
+        if (selfPlay > 0) {
+            builder.selfPlay(selfPlay, timeMs, new Random());
+        }
+        int written = builder.write(output, minGames);
+        System.out.println("오프닝 북 생성 완료: 대국 " + builder.games + "개, 국면 " + written + "개 -> " + output);
+    }
+
+    /**
+     * 기보 파일의 모든 대국을 추가 (끝나지 않았거나 잘못된 수가 있는 대국은 건너뜀)
+     */
+    public void importGames(Path file) throws IOException {
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim().toLowerCase();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                int[] moves = parseMoves(line);
+                if (moves == null || !addGame(moves, moves.length)) {
+                    skipped++;
+                }
+            }
+        }
+        if (skipped > 0) {
+            System.err.println("[AI] 오프닝 북: 잘못되었거나 끝나지 않은 기보 " + skipped + "개 건너뜀");
+        }
+    }
+
+    /**
+     * 탐색 엔진끼리 대국하여 추가 (초반 몇 수는 무작위)
+     */
+    public void selfPlay(int count, long timeMs, Random random) {
+        SearchEngine engine = new SearchEngine();
+        int[] moves = new int[60];
+        for (int g = 0; g < count; g++) {
+            long player = Bitboard.INITIAL_BLACK;
+            long opponent = Bitboard.INITIAL_WHITE;
+            int ply = 0;
+            while (true) {
+                long valid = Bitboard.moves(player, opponent);
+                if (valid == 0L) {
+                    if (Bitboard.moves(opponent, player) == 0L) break;
+                    long t = player;
+                    player = opponent;
+                    opponent = t;
+                    continue;
+                }
+                int sq;
+                if (ply < RANDOM_PLIES) {
+                    sq = nthBit(valid, random.nextInt(Long.bitCount(valid)));
+                } else {
+                    sq = engine.findBestMove(player, opponent, timeMs);
+                }
+                long f = Bitboard.flips(player, opponent, sq);
+                long next = player | f | (1L << sq);
+                player = opponent & ~f;
+                opponent = next;
+                moves[ply++] = sq;
+            }
+            addGame(moves, ply);
+            if ((g + 1) % 10 == 0) {
+                System.out.println("[AI] 오프닝 북: 자체 대국 " + (g + 1) + "/" + count);
+            }
+        }
+    }
+
+    /**
+     * 대국 하나를 재생하며 초반 국면의 통계를 누적
+     * @return 끝까지 진행된 올바른 대국이면 true
+     */
+    boolean addGame(int[] moves, int count) {
+        long black = Bitboard.INITIAL_BLACK;
+        long white = Bitboard.INITIAL_WHITE;
+        boolean blackToMove = true;
+        int recorded = Math.min(count, maxPlies);
+        long[] keys = new long[recorded];
+        int[] bookMoves = new int[recorded];
+        boolean[] byBlack = new boolean[recorded];
+
+        for (int i = 0; i < count; i++) {
+            long player = blackToMove ? black : white;
+            long opponent = blackToMove ? white : black;
+            if (Bitboard.moves(player, opponent) == 0L) {
+                // 패스
+                blackToMove = !blackToMove;
+                player = blackToMove ? black : white;
+                opponent = blackToMove ? white : black;
+            }
+            int sq = moves[i];
+            long f = Bitboard.flips(player, opponent, sq);
+            if (f == 0L) return false;
+
+            if (i < recorded) {
+                int sym = OpeningBook.canonicalSymmetry(player, opponent);
+                keys[i] = OpeningBook.canonicalKey(player, opponent, sym);
+                bookMoves[i] = Bitboard.transformSquare(sq, sym);
+                byBlack[i] = blackToMove;
+            }
+
+            player |= f | (1L << sq);
+            opponent &= ~f;
+            black = blackToMove ? player : opponent;
+            white = blackToMove ? opponent : player;
+            blackToMove = !blackToMove;
+        }
+        if (Bitboard.moves(black, white) != 0L || Bitboard.moves(white, black) != 0L) {
+            return false;
+        }
+
+        int blackDiff = EndgameSolver.finalScore(black, white);
+        for (int i = 0; i < recorded; i++) {
+            long[] entry = stats.computeIfAbsent(keys[i], k -> new HashMap<>())
+                    .computeIfAbsent(bookMoves[i], k -> new long[2]);
+            entry[0]++;
+            entry[1] += byBlack[i] ? blackDiff : -blackDiff;
+        }
+        games++;
+        return true;
+    }
+
+    /**
+     * 국면마다 최소 대국 수를 만족하는 수 중 평균 돌 차이가 가장 큰 수를 골라 해시 순으로 저장
+     * @return 저장한 레코드 수
+     */
+    public int write(Path output, int minGames) throws IOException {
+        long[] keys = new long[stats.size()];
+        int[] moves = new int[stats.size()];
+        int[] scores = new int[stats.size()];
+        int count = 0;
+        for (Map.Entry<Long, Map<Integer, long[]>> position : stats.entrySet()) {
+            int bestMove = -1;
+            double bestAverage = Double.NEGATIVE_INFINITY;
+            for (Map.Entry<Integer, long[]> move : position.getValue().entrySet()) {
+                long[] entry = move.getValue();
+                if (entry[0] < minGames) continue;
+                double average = (double) entry[1] / entry[0];
+                if (average > bestAverage) {
+                    bestAverage = average;
+                    bestMove = move.getKey();
+                }
+            }
+            if (bestMove < 0) continue;
+            keys[count] = position.getKey();
+            moves[count] = bestMove;
+            scores[count] = (int) Math.round(bestAverage);
+            count++;
+        }
+
+        // 해시 오름차순(부호 없는 비교) 정렬
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compareUnsigned(keys[a], keys[b]));
+
+        try (OutputStream file = Files.newOutputStream(output);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(count);
+            for (int i : order) {
+                out.writeLong(keys[i]);
+                out.writeInt(moves[i]);
+                out.writeInt(scores[i]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * "f5d6c3..." 형식의 기보를 칸 번호 배열로 변환 (공백 허용)
+     * @return 형식이 잘못되었으면 null
+     */
+    static int[] parseMoves(String line) {
+        String compact = line.replaceAll("\\s+", "");
+        if (compact.length() % 2 != 0 || compact.length() > 120) return null;
+        int[] moves = new int[compact.length() / 2];
+        for (int i = 0; i < moves.length; i++) {
+            int x = compact.charAt(2 * i) - 'a';
+            int y = compact.charAt(2 * i + 1) - '1';
+            if (x < 0 || x >= Bitboard.SIZE || y < 0 || y >= Bitboard.SIZE) return null;
+            moves[i] = Bitboard.square(x, y);
+        }
+        return moves;
+    }
+
+    private static int nthBit(long mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+}
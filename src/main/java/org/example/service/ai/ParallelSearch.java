@@ -0,0 +1,136 @@
+package org.example.service.ai;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Lazy SMP 방식의 멀티코어 탐색
+ * N개의 탐색 엔진이 하나의 잠금 없는 치환표를 공유하며 같은 국면을 동시에 탐색합니다.
+ * 보조 스레드는 시작 깊이를 엇갈리게 하여 서로 다른 가지를 먼저 채우고, 그 결과가 치환표를 통해 다른 스레드의 정렬과 컷에 쓰입니다.
+ * 제한 시간이 끝나면 가장 깊이 완료된 엔진의 최선 수를 반환합니다.
+ */
+public class ParallelSearch implements AutoCloseable {
+
+    private static final AtomicInteger POOL_ID = new AtomicInteger(1);
+
+    private final TranspositionTable tt;
+    private final SearchEngine[] engines;
+    private final ExecutorService helpers;
+
+    private long nodes;
+    private int completedDepth;
+    private int bestScore;
+
+    /**
+     * @param threads 탐색 스레드 수 (1이면 호출한 스레드에서만 탐색)
+     */
+    public ParallelSearch(TranspositionTable tt, int threads) {
+        this(tt, threads, PositionalEvaluator::new);
+    }
+
+    /**
+     * @param evaluators 엔진마다 한 번씩 호출되는 평가 함수 생성기
+     */
+    public ParallelSearch(TranspositionTable tt, int threads, Supplier<Evaluator> evaluators) {
+        this.tt = tt;
+        int count = Math.max(1, threads);
+        engines = new SearchEngine[count];
+        for (int i = 0; i < count; i++) {
+            engines[i] = new SearchEngine(tt, evaluators.get());
+        }
+        if (count > 1) {
+            int poolId = POOL_ID.getAndIncrement();
+            AtomicInteger threadId = new AtomicInteger(1);
+            helpers = Executors.newFixedThreadPool(count - 1, r -> {
+                Thread t = new Thread(r, "ai-search-" + poolId + "-" + threadId.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            });
+        } else {
+            helpers = null;
+        }
+    }
+
+    /**
+     * 시간 제한 안에서 모든 스레드로 탐색하여 최선의 수를 반환
+     * @return 칸 번호 (y * 8 + x), 둘 곳이 없으면 SearchEngine.NO_MOVE
+     */
+    public int findBestMove(long player, long opponent, long timeBudgetMillis) {
+        return findBestMove(player, opponent, timeBudgetMillis, SearchEngine.NEVER);
+    }
+
+    /**
+     * @param cancelled 요청 단위 중단 조건 (모든 스레드가 시간 확인 때마다 호출)
+     */
+    public synchronized int findBestMove(long player, long opponent, long timeBudgetMillis, BooleanSupplier cancelled) {
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        tt.newSearch();
+        for (SearchEngine engine : engines) {
+            engine.clearStop();
+        }
+
+        Future<?>[] futures = new Future<?>[engines.length];
+        for (int i = 1; i < engines.length; i++) {
+            SearchEngine engine = engines[i];
+            int startDepth = 1 + (i & 1);
+            futures[i] = helpers.submit(() -> engine.search(player, opponent, deadline, startDepth, cancelled));
+        }
+
+        engines[0].search(player, opponent, deadline, 1, cancelled);
+
+        // 주 스레드가 끝나면 (시간 만료 또는 완전 탐색) 보조 스레드도 중단
+        for (int i = 1; i < engines.length; i++) {
+            engines[i].stop();
+        }
+        for (int i = 1; i < engines.length; i++) {
+            try {
+                futures[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                System.err.println("[AI] 보조 탐색 스레드 오류: " + e.getCause());
+            }
+        }
+
+        SearchEngine best = engines[0];
+        nodes = 0;
+        for (SearchEngine engine : engines) {
+            nodes += engine.getNodes();
+            if (engine.getCompletedDepth() > best.getCompletedDepth()) {
+                best = engine;
+            }
+        }
+        completedDepth = best.getCompletedDepth();
+        bestScore = best.getBestScore();
+        return best.getBestMove();
+    }
+
+    /**
+     * 진행 중인 탐색을 모든 스레드에서 중단 (다른 스레드에서 호출 가능)
+     */
+    public void stop() {
+        for (SearchEngine engine : engines) {
+            engine.stop();
+        }
+    }
+
+    /**
+     * 보조 탐색 스레드 풀 종료 (이후에는 탐색할 수 없음)
+     */
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdown();
+        }
+    }
+
+    public int getThreadCount() { return engines.length; }
+    public long getNodes() { return nodes; }
+    public int getCompletedDepth() { return completedDepth; }
+    public int getBestScore() { return bestScore; }
+}
@@ -0,0 +1,265 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 패턴 기반 평가 함수 (둘 차례인 플레이어 관점, 돌 1개 차이 = SCALE)
+ * 변, 코너 3x3/2x5, 가로줄, 대각선 패턴의 칸 상태(빈칸 0, 내 돌 1, 상대 돌 2)를 3진수 코드로 만들어
+ * 진행 단계(phase)별 short[] 가중치 표에서 점수를 찾아 더합니다. 이동성 차이도 같은 방식의 표로 평가합니다.
+ * 같은 그룹의 대칭 인스턴스는 하나의 표를 공유합니다. 보드를 8가지로 대칭 변환한 뒤 기준 위치의 패턴만 읽으므로,
+ * 코드는 칸 단위 반복 없이 바이트 추출과 3진수 변환표(TERNARY)로 계산됩니다.
+ * 가중치 표는 읽기 전용이므로 인스턴스를 여러 탐색 스레드가 공유해도 됩니다.
+ *
+ * 파일 형식 (빅 엔디언):
+ *   헤더: int MAGIC, int 단계 수, int 단계별 표 수
+ *   본문: 단계 순, 표 순으로 각 표의 short 가중치 (표 크기는 TABLE_SIZES)
+ * 파일은 PatternWeightFitter 로 생성합니다.
+ */
+public final class PatternEvaluator implements Evaluator {
+
+    static final int MAGIC = 0x50455631; // "PEV1"
+    static final int HEADER_BYTES = 12;
+
+    static final int PHASES = 6;     // 둔 수 10개 단위 진행 단계
+    static final int SCALE = 128;    // 돌 1개 차이의 점수
+    static final int MOBILITY_LIMIT = 24; // 이동성 차이는 -24..24 로 제한
+
+    // 패턴 그룹의 기준 칸 (code 의 추출 방식과 일치해야 함, 나머지 인스턴스는 대칭 변환으로 생성)
+    static final int[][] GROUP_SQUARES = {
+        {0, 1, 2, 3, 4, 5, 6, 7, 9, 14},          // 변 + X 칸 2개
+        {0, 1, 2, 8, 9, 10, 16, 17, 18},          // 코너 3x3
+        {0, 1, 2, 3, 4, 8, 9, 10, 11, 12},        // 코너 2x5
+        {8, 9, 10, 11, 12, 13, 14, 15},           // 2번째 줄
+        {16, 17, 18, 19, 20, 21, 22, 23},         // 3번째 줄
+        {24, 25, 26, 27, 28, 29, 30, 31},         // 4번째 줄
+        {0, 9, 18, 27, 36, 45, 54, 63},           // 대각선 8칸
+        {1, 10, 19, 28, 37, 46, 55},              // 대각선 7칸
+        {2, 11, 20, 29, 38, 47},                  // 대각선 6칸
+        {3, 12, 21, 30, 39},                      // 대각선 5칸
+        {4, 13, 22, 31}                           // 대각선 4칸
+    };
+
+    static final int GROUPS = GROUP_SQUARES.length;
+    static final int MOBILITY_TABLE = GROUPS;  // 이동성 표의 번호
+    static final int TABLES = GROUPS + 1;      // 단계별 표 수
+    static final int[] TABLE_SIZES = new int[TABLES];
+
+    // 비트 k 가 켜져 있으면 3^k 를 더한 값 (바이트 -> 3진수)
+    private static final int[] TERNARY = new int[256];
+
+    // 대칭 변환별로 기준 위치에서 읽을 그룹 (변환 후 칸 집합이 겹치는 인스턴스는 제외)
+    private static final int[][] SYM_GROUPS = new int[Bitboard.SYMMETRIES][];
+    static final int[] INSTANCE_TABLE; // 특징 슬롯 순서(대칭 순, 그룹 순)의 표 번호
+    static final int SLOTS;            // 국면 하나의 특징 수 (인스턴스 + 이동성)
+
+    static {
+        for (int b = 1; b < 256; b++) {
+            int low = Integer.numberOfTrailingZeros(b);
+            TERNARY[b] = TERNARY[b & (b - 1)] + pow3(low);
+        }
+
+        long[][] seen = new long[GROUPS][Bitboard.SYMMETRIES];
+        int[] seenCount = new int[GROUPS];
+        int[] tables = new int[GROUPS * Bitboard.SYMMETRIES];
+        int count = 0;
+        for (int sym = 0; sym < Bitboard.SYMMETRIES; sym++) {
+            int[] groups = new int[GROUPS];
+            int groupCount = 0;
+            int inverse = Bitboard.inverseSymmetry(sym);
+            for (int group = 0; group < GROUPS; group++) {
+                // 변환된 보드의 기준 칸 = 원래 보드의 역변환 칸
+                long mask = 0L;
+                for (int sq : GROUP_SQUARES[group]) {
+                    mask |= 1L << Bitboard.transformSquare(sq, inverse);
+                }
+                boolean duplicate = false;
+                for (int i = 0; i < seenCount[group]; i++) {
+                    duplicate |= seen[group][i] == mask;
+                }
+                if (duplicate) continue;
+                seen[group][seenCount[group]++] = mask;
+                groups[groupCount++] = group;
+                tables[count++] = group;
+            }
+            SYM_GROUPS[sym] = Arrays.copyOf(groups, groupCount);
+        }
+        for (int group = 0; group < GROUPS; group++) {
+            TABLE_SIZES[group] = pow3(GROUP_SQUARES[group].length);
+        }
+        TABLE_SIZES[MOBILITY_TABLE] = 2 * MOBILITY_LIMIT + 1;
+        INSTANCE_TABLE = Arrays.copyOf(tables, count);
+        SLOTS = count + 1;
+    }
+
+    private final short[][] weights; // [단계 * TABLES + 표][인덱스]
+
+    PatternEvaluator(short[][] weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * 가중치 파일을 읽음
+     * @throws IOException 파일이 없거나 형식/크기가 맞지 않을 때
+     */
+    public static PatternEvaluator load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("패턴 가중치 파일 형식이 아닙니다: " + path);
+            }
+            if (buffer.getInt(4) != PHASES || buffer.getInt(8) != TABLES) {
+                throw new IOException("패턴 구성이 다른 가중치 파일입니다 (단계 " + buffer.getInt(4)
+                        + ", 표 " + buffer.getInt(8) + "): " + path);
+            }
+            long expected = HEADER_BYTES + 2L * PHASES * Arrays.stream(TABLE_SIZES).sum();
+            if (buffer.capacity() != expected) {
+                throw new IOException("패턴 가중치 파일 크기가 올바르지 않습니다: " + buffer.capacity() + " (기대값 " + expected + ")");
+            }
+            ShortBuffer values = buffer.position(HEADER_BYTES).slice().asShortBuffer();
+            short[][] weights = new short[PHASES * TABLES][];
+            for (int phase = 0; phase < PHASES; phase++) {
+                for (int table = 0; table < TABLES; table++) {
+                    short[] w = new short[TABLE_SIZES[table]];
+                    values.get(w);
+                    weights[phase * TABLES + table] = w;
+                }
+            }
+            return new PatternEvaluator(weights);
+        }
+    }
+
+    /**
+     * 가중치 저장 (PatternWeightFitter 에서 사용)
+     */
+    static void write(Path path, short[][] weights) throws IOException {
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(PHASES);
+            out.writeInt(TABLES);
+            for (short[] table : weights) {
+                for (short w : table) {
+                    out.writeShort(w);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int evaluate(long player, long opponent) {
+        int base = phase(player, opponent) * TABLES;
+        int score = 0;
+        for (int sym = 0; sym < Bitboard.SYMMETRIES; sym++) {
+            long p = Bitboard.transform(player, sym);
+            long o = Bitboard.transform(opponent, sym);
+            for (int group : SYM_GROUPS[sym]) {
+                score += weights[base + group][code(group, p, o)];
+            }
+        }
+        score += weights[base + MOBILITY_TABLE][mobilityIndex(player, opponent)];
+        return score;
+    }
+
+    /**
+     * 진행 단계 (둔 수 10개마다 1씩 증가)
+     */
+    static int phase(long player, long opponent) {
+        int played = Long.bitCount(player | opponent) - 4;
+        return Math.min(PHASES - 1, played / 10);
+    }
+
+    /**
+     * 국면의 모든 특징 인덱스 (evaluate 와 같은 순서, 마지막은 이동성)
+     * @param out 길이 SLOTS 이상의 배열
+     */
+    static void indexes(long player, long opponent, int[] out) {
+        int slot = 0;
+        for (int sym = 0; sym < Bitboard.SYMMETRIES; sym++) {
+            long p = Bitboard.transform(player, sym);
+            long o = Bitboard.transform(opponent, sym);
+            for (int group : SYM_GROUPS[sym]) {
+                out[slot++] = code(group, p, o);
+            }
+        }
+        out[slot] = mobilityIndex(player, opponent);
+    }
+
+    /**
+     * 특징 슬롯이 사용하는 표 번호
+     */
+    static int slotTable(int slot) {
+        return slot < INSTANCE_TABLE.length ? INSTANCE_TABLE[slot] : MOBILITY_TABLE;
+    }
+
+    /**
+     * 기준 위치 패턴의 3진수 코드 (GROUP_SQUARES 순서로 k 번째 칸이 3^k 자리)
+     */
+    private static int code(int group, long p, long o) {
+        switch (group) {
+            case 0: // 변 + X 칸 (b2, g2)
+                return TERNARY[(int) (p & 0xFF)] + 2 * TERNARY[(int) (o & 0xFF)]
+                        + 6561 * (int) (((p >>> 9) & 1L) + 2 * ((o >>> 9) & 1L))
+                        + 19683 * (int) (((p >>> 14) & 1L) + 2 * ((o >>> 14) & 1L));
+            case 1: // 코너 3x3
+                return rows(p, 0x07, 3, 27) + 2 * rows(o, 0x07, 3, 27);
+            case 2: // 코너 2x5
+                return rows(p, 0x1F, 2, 243) + 2 * rows(o, 0x1F, 2, 243);
+            case 3:
+            case 4:
+            case 5: { // 2~4번째 줄
+                int shift = 8 * (group - 2);
+                return TERNARY[(int) ((p >>> shift) & 0xFF)] + 2 * TERNARY[(int) ((o >>> shift) & 0xFF)];
+            }
+            default: { // 대각선: 각 열에 한 칸씩이므로 곱셈으로 최상위 바이트에 모음
+                int file = group - 6;
+                long mask = DIAGONALS[file];
+                return TERNARY[diagonalByte(p, mask) >>> file] + 2 * TERNARY[diagonalByte(o, mask) >>> file];
+            }
+        }
+    }
+
+    // 1번째 줄의 a~e 열에서 시작하는 대각선 (대각선 그룹 순서)
+    private static final long[] DIAGONALS = {
+        0x8040201008040201L, 0x0080402010080402L, 0x0000804020100804L, 0x0000008040201008L, 0x0000000080402010L
+    };
+
+    private static int diagonalByte(long b, long mask) {
+        return (int) (((b & mask) * 0x0101010101010101L) >>> 56);
+    }
+
+    // 아래 줄부터 rowCount 개 줄의 하위 비트(bits)를 3진수로 이어 붙임
+    private static int rows(long b, int bits, int rowCount, int stride) {
+        int code = 0;
+        int scale = 1;
+        for (int row = 0; row < rowCount; row++) {
+            code += scale * TERNARY[(int) ((b >>> (8 * row)) & bits)];
+            scale *= stride;
+        }
+        return code;
+    }
+
+    private static int mobilityIndex(long player, long opponent) {
+        int diff = Long.bitCount(Bitboard.moves(player, opponent)) - Long.bitCount(Bitboard.moves(opponent, player));
+        return Math.max(-MOBILITY_LIMIT, Math.min(MOBILITY_LIMIT, diff)) + MOBILITY_LIMIT;
+    }
+
+    static int pow3(int n) {
+        int value = 1;
+        for (int i = 0; i < n; i++) {
+            value *= 3;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,408 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 패턴 평가 가중치 학습기 (오프라인 실행용)
+ * 기보 파일 또는 자체 대국의 모든 국면을 모아, 각 국면에서 둘 차례 플레이어의 최종 돌 차이를 맞추도록
+ * PatternEvaluator 의 표를 확률적 경사 하강법(최소 제곱)으로 학습한 뒤 가중치 파일로 저장합니다.
+ * 빈칸이 적은 국면(--exact 이하)은 대국 결과 대신 EndgameSolver 의 정확한 점수를 목표값으로 사용하여 잡음을 줄입니다.
+ * 국면 10개 중 1개는 검증용으로 떼어 두고, 에포크마다 학습/검증 오차(돌 개수 기준 RMSE)를 출력합니다.
+ *
+ * 사용법:
+ *   PatternWeightFitter <출력 파일> [--games 기보파일] [--selfplay 대국수] [--timeMs 20] [--randomPlies 8]
+ *                       [--exact 12] [--threads 코어수] [--epochs 20] [--rate 0.002] [--seed 1]
+ * 자체 대국 수천 판(국면 수십만 개) 이상이어야 위치 기반 평가보다 강해집니다.
+ * 기보 파일 형식은 OpeningBookBuilder 와 같습니다. (한 줄에 한 대국, "f5d6c3d3...")
+ */
+public class PatternWeightFitter {
+
+    private static final int VALIDATION_EVERY = 10; // 검증용으로 떼어 둘 국면 간격
+    private static final long SOLVE_TIME_MILLIS = 60_000L; // 국면 하나의 완전 탐색 제한 시간
+
+    // 학습 국면 (둘 차례 돌, 상대 돌, 둘 차례 관점의 최종 돌 차이)
+    private long[] players = new long[1 << 16];
+    private long[] opponents = new long[1 << 16];
+    private byte[] targets = new byte[1 << 16];
+    private int size;
+    private int games;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("사용법: PatternWeightFitter <출력 파일> [--games 기보파일] [--selfplay 대국수] [--timeMs 20] [--randomPlies 8]");
+            System.out.println("                           [--exact 12] [--threads 코어수] [--epochs 20] [--rate 0.002] [--seed 1]");
+            return;
+        }
+        Path output = Paths.get(args[0]);
+        Path gamesFile = null;
+        int selfPlay = 0;
+        int timeMs = 20;
+        int randomPlies = 8;
+        int exactEmpties = 12;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int epochs = 20;
+        double rate = 0.002;
+        long seed = 1;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games": gamesFile = Paths.get(args[i + 1]); break;
+                case "--selfplay": selfPlay = Integer.parseInt(args[i + 1]); break;
+                case "--timeMs": timeMs = Integer.parseInt(args[i + 1]); break;
+                case "--randomPlies": randomPlies = Integer.parseInt(args[i + 1]); break;
+                case "--exact": exactEmpties = Integer.parseInt(args[i + 1]); break;
+                case "--threads": threads = Integer.parseInt(args[i + 1]); break;
+                case "--epochs": epochs = Integer.parseInt(args[i + 1]); break;
+                case "--rate": rate = Double.parseDouble(args[i + 1]); break;
+                case "--seed": seed = Long.parseLong(args[i + 1]); break;
+                default:
+                    System.err.println("알 수 없는 옵션: " + args[i]);
+                    return;
+            }
+        }
+
+        PatternWeightFitter fitter = new PatternWeightFitter();
+        if (gamesFile != null) {
+            fitter.importGames(gamesFile);
+        }
+        if (selfPlay > 0) {
+            fitter.selfPlay(selfPlay, timeMs, randomPlies, Math.max(1, threads), seed);
+        }
+        if (fitter.size == 0) {
+            System.err.println("[AI] 패턴 학습: 학습할 국면이 없습니다.");
+            return;
+        }
+        if (exactEmpties > 0) {
+            fitter.solveTargets(exactEmpties, Math.max(1, threads));
+        }
+        System.out.println("[AI] 패턴 학습: 대국 " + fitter.games + "개, 국면 " + fitter.size + "개");
+        PatternEvaluator.write(output, fitter.fit(epochs, rate, new Random(seed)));
+        System.out.println("패턴 가중치 생성 완료 -> " + output);
+    }
+
+    /**
+     * 기보 파일의 모든 대국을 추가 (끝나지 않았거나 잘못된 수가 있는 대국은 건너뜀)
+     */
+    public void importGames(Path file) throws IOException {
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim().toLowerCase();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                int[] moves = OpeningBookBuilder.parseMoves(line);
+                if (moves == null || !addGame(moves, moves.length)) {
+                    skipped++;
+                }
+            }
+        }
+        if (skipped > 0) {
+            System.err.println("[AI] 패턴 학습: 잘못되었거나 끝나지 않은 기보 " + skipped + "개 건너뜀");
+        }
+    }
+
+    /**
+     * 탐색 엔진끼리 병렬로 대국하여 추가 (초반 몇 수는 무작위, 대국마다 시드 고정)
+     */
+    public void selfPlay(int count, long timeMs, int randomPlies, int threads, long seed) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "pattern-selfplay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    SearchEngine engine = new SearchEngine(new TranspositionTable(8));
+                    int[] moves = new int[60];
+                    int game;
+                    while ((game = next.getAndIncrement()) < count) {
+                        Random random = new Random(seed * 1_000_003L + game);
+                        int plies = playGame(engine, timeMs, randomPlies, random, moves);
+                        int added;
+                        synchronized (this) {
+                            addGame(moves, plies);
+                            added = games;
+                        }
+                        if (added % 100 == 0) {
+                            System.out.println("[AI] 패턴 학습: 자체 대국 " + added + "/" + count);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 빈칸이 maxEmpties 개 이하인 국면의 목표값을 완전 탐색 점수로 교체
+     */
+    public void solveTargets(int maxEmpties, int threads) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger solved = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "pattern-solve");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    EndgameSolver solver = new EndgameSolver(new TranspositionTable(4));
+                    int s;
+                    while ((s = next.getAndIncrement()) < size) {
+                        long player = players[s];
+                        long opponent = opponents[s];
+                        if (Long.bitCount(~(player | opponent)) > maxEmpties
+                                || solver.findBestMove(player, opponent, SOLVE_TIME_MILLIS) == EndgameSolver.NO_MOVE) {
+                            continue;
+                        }
+                        targets[s] = (byte) solver.getBestScore();
+                        solved.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        System.out.println("[AI] 패턴 학습: 빈칸 " + maxEmpties + "개 이하 국면 " + solved.get() + "개를 완전 탐색 점수로 교체");
+    }
+
+    private static int playGame(SearchEngine engine, long timeMs, int randomPlies, Random random, int[] moves) {
+        long player = Bitboard.INITIAL_BLACK;
+        long opponent = Bitboard.INITIAL_WHITE;
+        int ply = 0;
+        while (true) {
+            long valid = Bitboard.moves(player, opponent);
+            if (valid == 0L) {
+                if (Bitboard.moves(opponent, player) == 0L) break;
+                long t = player;
+                player = opponent;
+                opponent = t;
+                continue;
+            }
+            int sq;
+            if (ply < randomPlies) {
+                int skip = random.nextInt(Long.bitCount(valid));
+                for (int i = 0; i < skip; i++) {
+                    valid &= valid - 1;
+                }
+                sq = Long.numberOfTrailingZeros(valid);
+            } else {
+                sq = engine.findBestMove(player, opponent, timeMs);
+            }
+            long f = Bitboard.flips(player, opponent, sq);
+            long next = player | f | (1L << sq);
+            player = opponent & ~f;
+            opponent = next;
+            moves[ply++] = sq;
+        }
+        return ply;
+    }
+
+    /**
+     * 대국 하나를 재생하며 모든 국면을 학습 데이터로 추가
+     * @return 끝까지 진행된 올바른 대국이면 true
+     */
+    boolean addGame(int[] moves, int count) {
+        long black = Bitboard.INITIAL_BLACK;
+        long white = Bitboard.INITIAL_WHITE;
+        boolean blackToMove = true;
+        int start = size;
+        boolean[] byBlack = new boolean[count];
+
+        for (int i = 0; i < count; i++) {
+            long player = blackToMove ? black : white;
+            long opponent = blackToMove ? white : black;
+            if (Bitboard.moves(player, opponent) == 0L) {
+                // 패스
+                blackToMove = !blackToMove;
+                player = blackToMove ? black : white;
+                opponent = blackToMove ? white : black;
+            }
+            int sq = moves[i];
+            long f = Bitboard.flips(player, opponent, sq);
+            if (f == 0L) {
+                size = start;
+                return false;
+            }
+            add(player, opponent);
+            byBlack[i] = blackToMove;
+
+            player |= f | (1L << sq);
+            opponent &= ~f;
+            black = blackToMove ? player : opponent;
+            white = blackToMove ? opponent : player;
+            blackToMove = !blackToMove;
+        }
+        if (Bitboard.moves(black, white) != 0L || Bitboard.moves(white, black) != 0L) {
+            size = start;
+            return false;
+        }
+
+        int blackDiff = EndgameSolver.finalScore(black, white);
+        for (int i = 0; i < count; i++) {
+            targets[start + i] = (byte) (byBlack[i] ? blackDiff : -blackDiff);
+        }
+        games++;
+        return true;
+    }
+
+    private void add(long player, long opponent) {
+        if (size == players.length) {
+            players = Arrays.copyOf(players, size * 2);
+            opponents = Arrays.copyOf(opponents, size * 2);
+            targets = Arrays.copyOf(targets, size * 2);
+        }
+        players[size] = player;
+        opponents[size] = opponent;
+        size++;
+    }
+
+    /**
+     * 최소 제곱 SGD로 단계별 표 학습
+     * @param rate 국면 하나의 오차(돌 개수)에 곱해 각 특징 가중치에 더할 비율
+     * @return PatternEvaluator 형식의 가중치 (점수 단위)
+     */
+    short[][] fit(int epochs, double rate, Random random) {
+        int tableCount = PatternEvaluator.PHASES * PatternEvaluator.TABLES;
+        float[][] w = new float[tableCount][];
+        for (int i = 0; i < tableCount; i++) {
+            w[i] = new float[PatternEvaluator.TABLE_SIZES[i % PatternEvaluator.TABLES]];
+        }
+
+        int[] order = new int[size];
+        int trainCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (i % VALIDATION_EVERY != 0) order[trainCount++] = i;
+        }
+        int[] slots = new int[PatternEvaluator.SLOTS];
+
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+            // 학습 순서 섞기
+            for (int i = trainCount - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+
+            double trainError = 0;
+            for (int n = 0; n < trainCount; n++) {
+                int s = order[n];
+                int base = PatternEvaluator.phase(players[s], opponents[s]) * PatternEvaluator.TABLES;
+                PatternEvaluator.indexes(players[s], opponents[s], slots);
+                double error = targets[s] - predict(w, base, slots);
+                trainError += error * error;
+                float step = (float) (rate * error);
+                for (int slot = 0; slot < slots.length; slot++) {
+                    w[base + PatternEvaluator.slotTable(slot)][slots[slot]] += step;
+                }
+            }
+
+            double validationError = 0;
+            int validationCount = 0;
+            for (int s = 0; s < size; s += VALIDATION_EVERY) {
+                int base = PatternEvaluator.phase(players[s], opponents[s]) * PatternEvaluator.TABLES;
+                PatternEvaluator.indexes(players[s], opponents[s], slots);
+                double error = targets[s] - predict(w, base, slots);
+                validationError += error * error;
+                validationCount++;
+            }
+            symmetrize(w);
+            System.out.printf("[AI] 패턴 학습: 에포크 %d/%d, 학습 RMSE %.2f, 검증 RMSE %.2f%n", epoch, epochs,
+                    Math.sqrt(trainError / Math.max(1, trainCount)), Math.sqrt(validationError / Math.max(1, validationCount)));
+        }
+
+        short[][] weights = new short[tableCount][];
+        for (int i = 0; i < tableCount; i++) {
+            weights[i] = new short[w[i].length];
+            for (int j = 0; j < w[i].length; j++) {
+                long value = Math.round(w[i][j] * PatternEvaluator.SCALE);
+                weights[i][j] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * 자기 대칭인 패턴(예: 좌우 대칭인 줄)의 같은 칸 배치를 가리키는 코드들의 가중치를 평균으로 묶음
+     * 평가 시 같은 줄을 어느 방향으로 읽어도 같은 점수가 나오도록 하여 평가값을 대칭 변환에 대해 불변으로 유지합니다.
+     */
+    static void symmetrize(float[][] w) {
+        for (int group = 0; group < PatternEvaluator.GROUPS; group++) {
+            int[] base = PatternEvaluator.GROUP_SQUARES[group];
+            long baseMask = 0L;
+            for (int sq : base) baseMask |= 1L << sq;
+
+            // 기준 칸 집합을 자기 자신으로 보내는 대칭 변환의 자리 순열
+            List<int[]> perms = new ArrayList<>();
+            for (int sym = 1; sym < Bitboard.SYMMETRIES; sym++) {
+                int[] perm = new int[base.length];
+                long mask = 0L;
+                for (int i = 0; i < base.length; i++) {
+                    int target = Bitboard.transformSquare(base[i], sym);
+                    mask |= 1L << target;
+                    for (int j = 0; j < base.length; j++) {
+                        if (base[j] == target) perm[i] = j;
+                    }
+                }
+                if (mask == baseMask) perms.add(perm);
+            }
+            if (perms.isEmpty()) continue;
+
+            int size = PatternEvaluator.TABLE_SIZES[group];
+            int[] digits = new int[base.length];
+            for (int code = 0; code < size; code++) {
+                for (int i = 0, c = code; i < base.length; i++, c /= 3) digits[i] = c % 3;
+                for (int[] perm : perms) {
+                    int mapped = 0;
+                    for (int i = 0; i < base.length; i++) {
+                        mapped += digits[i] * PatternEvaluator.pow3(perm[i]);
+                    }
+                    if (mapped <= code) continue; // 쌍마다 한 번만
+                    for (int phase = 0; phase < PatternEvaluator.PHASES; phase++) {
+                        float[] table = w[phase * PatternEvaluator.TABLES + group];
+                        float average = (table[code] + table[mapped]) / 2;
+                        table[code] = average;
+                        table[mapped] = average;
+                    }
+                }
+            }
+        }
+    }
+
+    private static double predict(float[][] w, int base, int[] slots) {
+        double sum = 0;
+        for (int slot = 0; slot < slots.length; slot++) {
+            sum += w[base + PatternEvaluator.slotTable(slot)][slots[slot]];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+
+import java.util.Arrays;
+
+/**
+ * 위치 기반 평가 함수 (둘 차례인 플레이어 관점의 점수)
+ * 코너, X/C 칸, 이동성(mobility), 프론티어 돌, 안정 돌을 고려합니다.
+ * 모든 계산은 비트 연산으로 이루어지며 객체를 생성하지 않습니다.
+ * 내부 작업 배열을 재사용하므로 탐색 스레드마다 별도의 인스턴스를 사용해야 합니다.
+ */
+public final class PositionalEvaluator implements Evaluator {
+
+    private static final int CORNER_WEIGHT = 800;
+    private static final int X_SQUARE_WEIGHT = -300;
+    private static final int C_SQUARE_WEIGHT = -100;
+    private static final int MOBILITY_WEIGHT = 60;
+    private static final int FRONTIER_WEIGHT = -30;
+    private static final int STABILITY_WEIGHT = 120;
+    private static final int DISC_WEIGHT = 10; // 종반(빈칸 14개 이하)에만 적용
+
+    static final long CORNERS = 0x8100000000000081L;
+
+    // 코너별 인접 X 칸 / C 칸 (코너 순서: a1, h1, a8, h8)
+    private static final int[] CORNER_SQUARES = {0, 7, 56, 63};
+    private static final long[] X_SQUARES = {
+        1L << 9, 1L << 14, 1L << 49, 1L << 54
+    };
+    private static final long[] C_SQUARES = {
+        (1L << 1) | (1L << 8), (1L << 6) | (1L << 15),
+        (1L << 48) | (1L << 57), (1L << 55) | (1L << 62)
+    };
+
+    // 4개 축(가로, 대각, 세로, 역대각)에 속한 모든 줄의 마스크
+    private static final long[][] AXIS_LINES = new long[4][];
+
+    static {
+        for (int axis = 0; axis < 4; axis++) {
+            long[] lines = new long[15];
+            int count = 0;
+            long seen = 0L;
+            for (int sq = 0; sq < 64; sq++) {
+                if ((seen & (1L << sq)) != 0) continue;
+                long line = 1L << sq;
+                for (long cur = Bitboard.shift(1L << sq, axis); cur != 0; cur = Bitboard.shift(cur, axis)) {
+                    line |= cur;
+                }
+                for (long cur = Bitboard.shift(1L << sq, axis + 4); cur != 0; cur = Bitboard.shift(cur, axis + 4)) {
+                    line |= cur;
+                }
+                seen |= line;
+                lines[count++] = line;
+            }
+            AXIS_LINES[axis] = Arrays.copyOf(lines, count);
+        }
+    }
+
+    private final long[] full = new long[4]; // 축별 꽉 찬 줄 (작업용)
+
+    @Override
+    public int evaluate(long player, long opponent) {
+        long occupied = player | opponent;
+        long empty = ~occupied;
+        int score = 0;
+
+        // 코너 및 코너가 비어 있을 때의 X/C 칸 위험도
+        score += CORNER_WEIGHT * (Long.bitCount(player & CORNERS) - Long.bitCount(opponent & CORNERS));
+        for (int i = 0; i < 4; i++) {
+            if ((empty & (1L << CORNER_SQUARES[i])) != 0) {
+                score += X_SQUARE_WEIGHT * (Long.bitCount(player & X_SQUARES[i]) - Long.bitCount(opponent & X_SQUARES[i]));
+                score += C_SQUARE_WEIGHT * (Long.bitCount(player & C_SQUARES[i]) - Long.bitCount(opponent & C_SQUARES[i]));
+            }
+        }
+
+        // 이동성
+        int myMobility = Long.bitCount(Bitboard.moves(player, opponent));
+        int opMobility = Long.bitCount(Bitboard.moves(opponent, player));
+        score += MOBILITY_WEIGHT * (myMobility - opMobility);
+
+        // 프론티어 (빈 칸에 인접한 돌은 적을수록 좋음)
+        long nearEmpty = 0L;
+        for (int dir = 0; dir < 8; dir++) {
+            nearEmpty |= Bitboard.shift(empty, dir);
+        }
+        score += FRONTIER_WEIGHT * (Long.bitCount(player & nearEmpty) - Long.bitCount(opponent & nearEmpty));
+
+        // 안정 돌 (코너가 하나도 없으면 사실상 0이므로 생략)
+        if ((occupied & CORNERS) != 0) {
+            fillFullLines(occupied, full);
+            score += STABILITY_WEIGHT * (Long.bitCount(stableDiscs(player, full)) - Long.bitCount(stableDiscs(opponent, full)));
+        }
+
+        if (Long.bitCount(empty) <= 14) {
+            score += DISC_WEIGHT * (Long.bitCount(player) - Long.bitCount(opponent));
+        }
+        return score;
+    }
+
+    /**
+     * 축별로 완전히 채워진 줄의 합집합
+     */
+    private static void fillFullLines(long occupied, long[] full) {
+        for (int axis = 0; axis < 4; axis++) {
+            long mask = 0L;
+            for (long line : AXIS_LINES[axis]) {
+                if ((occupied & line) == line) {
+                    mask |= line;
+                }
+            }
+            full[axis] = mask;
+        }
+    }
+
+    /**
+     * 뒤집힐 수 없는 돌의 근사 집합
+     * 각 축에 대해 줄이 꽉 찼거나, 한쪽 이웃이 보드 밖 또는 같은 색 안정 돌이면 그 축은 안전합니다.
+     */
+    static long stableDiscs(long own, long[] full) {
+        long stable = 0L;
+        while (true) {
+            long candidate = own;
+            for (int axis = 0; axis < 4 && candidate != 0; axis++) {
+                int back = axis + 4;
+                long safe = full[axis]
+                    | ~Bitboard.shift(-1L, back) | Bitboard.shift(stable, back)
+                    | ~Bitboard.shift(-1L, axis) | Bitboard.shift(stable, axis);
+                candidate &= safe;
+            }
+            if (candidate == stable) {
+                return stable;
+            }
+            stable = candidate;
+        }
+    }
+}
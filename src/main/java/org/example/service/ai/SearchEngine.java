@@ -0,0 +1,251 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 반복 심화(iterative deepening) 알파-베타(negamax) 탐색 엔진
+ * 주어진 시간 안에서 가장 깊이 완료된 반복의 최선 수를 반환합니다.
+ * 국면은 (둘 차례 돌, 상대 돌) 비트보드 두 개로 전달되며, 탐색 중에는 보드를 복사하거나 객체를 만들지 않습니다.
+ * 치환표(TranspositionTable)에 이전 반복의 결과와 최선 수를 저장하여 수 정렬과 가지치기에 재사용합니다.
+ * 한 인스턴스는 한 번에 하나의 탐색만 수행할 수 있습니다.
+ * stop() 은 진행 중인 탐색만 멈추므로, 탐색 시작 전에 올 수 있는 중단 요청은 요청마다의 cancelled 로 전달합니다.
+ */
+public class SearchEngine {
+
+    public static final int NO_MOVE = -1;
+    public static final BooleanSupplier NEVER = () -> false;
+
+    static final int INFINITY = 100_000_000;
+    static final int WIN_SCORE = 10_000_000;
+
+    // 시간 확인 주기 (노드 수, 2의 거듭제곱 - 1)
+    private static final int TIME_CHECK_MASK = 2047;
+
+    // 정적 수 정렬용 칸 우선순위 (코너 > 변 > 내부 > C 칸 > X 칸)
+    private static final int[] SQUARE_PRIORITY = {
+        9, 2, 7, 6, 6, 7, 2, 9,
+        2, 0, 3, 3, 3, 3, 0, 2,
+        7, 3, 5, 4, 4, 5, 3, 7,
+        6, 3, 4, 1, 1, 4, 3, 6,
+        6, 3, 4, 1, 1, 4, 3, 6,
+        7, 3, 5, 4, 4, 5, 3, 7,
+        2, 0, 3, 3, 3, 3, 0, 2,
+        9, 2, 7, 6, 6, 7, 2, 9
+    };
+    static final long[] ORDER_MASKS = new long[10];
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            ORDER_MASKS[9 - SQUARE_PRIORITY[sq]] |= 1L << sq;
+        }
+    }
+
+    private final Evaluator evaluator;
+    private final TranspositionTable tt;
+
+    private long nodes;
+    private long deadlineNanos;
+    private boolean aborted;
+    private volatile boolean stopRequested;
+    private BooleanSupplier cancelled = NEVER;
+
+    private int completedDepth;
+    private int bestScore;
+    private int bestMove = NO_MOVE;
+
+    public SearchEngine(TranspositionTable tt) {
+        this(tt, new PositionalEvaluator());
+    }
+
+    /**
+     * @param evaluator 말단 평가 함수 (이 엔진 전용 인스턴스이거나 상태가 없는 공유 인스턴스)
+     */
+    public SearchEngine(TranspositionTable tt, Evaluator evaluator) {
+        this.tt = tt;
+        this.evaluator = evaluator;
+    }
+
+    public SearchEngine() {
+        this(new TranspositionTable(16));
+    }
+
+    /**
+     * 시간 제한 안에서 최선의 수를 찾음
+     * @param player 둘 차례인 플레이어의 돌
+     * @param opponent 상대방의 돌
+     * @param timeBudgetMillis 탐색 시간 제한
+     * @return 칸 번호 (y * 8 + x), 둘 곳이 없으면 NO_MOVE
+     */
+    public int findBestMove(long player, long opponent, long timeBudgetMillis) {
+        return findBestMove(player, opponent, timeBudgetMillis, NEVER);
+    }
+
+    /**
+     * @param cancelled 요청 단위 중단 조건 (시간 확인 때마다 호출, 탐색 시작 전에 이미 true 면 첫 확인에서 멈춤)
+     */
+    public int findBestMove(long player, long opponent, long timeBudgetMillis, BooleanSupplier cancelled) {
+        stopRequested = false;
+        tt.newSearch();
+        return search(player, opponent, System.nanoTime() + timeBudgetMillis * 1_000_000L, 1, cancelled);
+    }
+
+    /**
+     * 치환표 세대 갱신 없이 탐색 (병렬 탐색에서 여러 엔진이 같은 치환표를 공유할 때 사용)
+     * @param startDepth 반복 심화를 시작할 깊이 (보조 스레드는 깊이를 엇갈리게 시작)
+     */
+    int search(long player, long opponent, long deadlineNanos, int startDepth, BooleanSupplier cancelled) {
+        this.deadlineNanos = deadlineNanos;
+        this.cancelled = cancelled;
+        nodes = 0;
+        completedDepth = 0;
+        bestScore = 0;
+        bestMove = NO_MOVE;
+        aborted = false;
+
+        long moves = Bitboard.moves(player, opponent);
+        if (moves == 0L) {
+            return NO_MOVE;
+        }
+
+        int[] rootMoves = new int[Long.bitCount(moves)];
+        int count = 0;
+        for (long region : ORDER_MASKS) {
+            for (long m = moves & region; m != 0; m &= m - 1) {
+                rootMoves[count++] = Long.numberOfTrailingZeros(m);
+            }
+        }
+        bestMove = rootMoves[0];
+        if (count == 1) {
+            return bestMove;
+        }
+
+        int maxDepth = Long.bitCount(~(player | opponent));
+        for (int depth = Math.min(startDepth, maxDepth); depth <= maxDepth; depth++) {
+            int alpha = -INFINITY;
+            int iterationBest = -1;
+            for (int i = 0; i < count; i++) {
+                int sq = rootMoves[i];
+                long flips = Bitboard.flips(player, opponent, sq);
+                int score = -negamax(opponent & ~flips, player | flips | (1L << sq), depth - 1, -INFINITY, -alpha);
+                if (aborted) break;
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = i;
+                }
+            }
+            if (aborted) break;
+
+            // 이번 반복의 최선 수를 맨 앞으로 옮겨 다음 반복에서 먼저 탐색
+            int best = rootMoves[iterationBest];
+            System.arraycopy(rootMoves, 0, rootMoves, 1, iterationBest);
+            rootMoves[0] = best;
+            completedDepth = depth;
+            bestScore = alpha;
+            bestMove = best;
+            tt.store(TranspositionTable.key(player, opponent), depth, TranspositionTable.EXACT, alpha, best);
+        }
+        return bestMove;
+    }
+
+    private int negamax(long player, long opponent, int depth, int alpha, int beta) {
+        if ((++nodes & TIME_CHECK_MASK) == 0
+                && (stopRequested || cancelled.getAsBoolean() || System.nanoTime() > deadlineNanos)) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        long moves = Bitboard.moves(player, opponent);
+        if (moves == 0L) {
+            if (Bitboard.moves(opponent, player) == 0L) {
+                return finalScore(player, opponent);
+            }
+            return -negamax(opponent, player, depth, -beta, -alpha); // 패스
+        }
+        if (depth == 0) {
+            return evaluator.evaluate(player, opponent);
+        }
+
+        // 치환표 조회: 충분히 깊은 결과면 바로 컷, 아니면 저장된 최선 수를 먼저 탐색
+        long key = TranspositionTable.key(player, opponent);
+        long entry = tt.probe(key);
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (entry != 0L) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int stored = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && stored >= beta)
+                        || (bound == TranspositionTable.UPPER && stored <= alpha)) {
+                    return stored;
+                }
+            }
+        }
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+
+        if (hashMove != TranspositionTable.NO_MOVE && (moves & (1L << hashMove)) != 0) {
+            long flips = Bitboard.flips(player, opponent, hashMove);
+            best = -negamax(opponent & ~flips, player | flips | (1L << hashMove), depth - 1, -beta, -alpha);
+            if (aborted) return 0;
+            bestMove = hashMove;
+            if (best > alpha) {
+                alpha = best;
+            }
+            moves &= ~(1L << hashMove);
+        }
+
+        for (int r = 0; r < ORDER_MASKS.length && alpha < beta; r++) {
+            for (long m = moves & ORDER_MASKS[r]; m != 0; m &= m - 1) {
+                int sq = Long.numberOfTrailingZeros(m);
+                long flips = Bitboard.flips(player, opponent, sq);
+                int score = -negamax(opponent & ~flips, player | flips | (1L << sq), depth - 1, -beta, -alpha);
+                if (aborted) return 0;
+                if (score > best) {
+                    best = score;
+                    bestMove = sq;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) break;
+                    }
+                }
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        tt.store(key, depth, bound, best, bestMove);
+        return best;
+    }
+
+    /**
+     * 종국 점수: 승패가 어떤 평가값보다 우선하며, 같은 승패끼리는 돌 차이로 비교
+     */
+    static int finalScore(long player, long opponent) {
+        int diff = Long.bitCount(player) - Long.bitCount(opponent);
+        if (diff > 0) return WIN_SCORE + diff;
+        if (diff < 0) return -WIN_SCORE + diff;
+        return 0;
+    }
+
+    /**
+     * 진행 중인 탐색을 가능한 한 빨리 중단 (다른 스레드에서 호출 가능)
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    void clearStop() {
+        stopRequested = false;
+    }
+
+    public long getNodes() { return nodes; }
+    public int getCompletedDepth() { return completedDepth; }
+    public int getBestScore() { return bestScore; }
+    public int getBestMove() { return bestMove; }
+}
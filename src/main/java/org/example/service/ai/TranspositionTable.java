@@ -0,0 +1,118 @@
+package org.example.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * 고정 크기 치환표(transposition table)
+ * 국면 해시를 키로 탐색 깊이, 경계 종류, 점수, 최선 수를 원시 long[] 배열에 저장합니다.
+ *
+ * 슬롯 하나는 long 두 개 (key ^ data, data)로 구성되며, 읽을 때 key 를 다시 복원해 비교하므로
+ * 여러 탐색 스레드가 잠금 없이 공유해도 찢어진(torn) 쓰기는 단순한 미스로 처리됩니다.
+ * 버킷당 2개의 슬롯을 두고, 같은 키가 없으면 이전 탐색 세대(age)의 슬롯 또는 더 얕은 깊이의 슬롯을 교체합니다.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER = 1; // 점수 >= 저장값 (beta 컷)
+    public static final int UPPER = 2; // 점수 <= 저장값 (alpha 이하)
+
+    public static final int NO_MOVE = 0xFF;
+
+    private static final int SLOTS_PER_BUCKET = 2;
+    private static final int LONGS_PER_SLOT = 2;
+    private static final long VALID = 1L << 63;
+    private static final long MAX_BUCKETS = 1L << 28; // long 2^30개 = 8GB (배열 길이 한도 2^31 - 1 안쪽)
+
+    // data 비트 배치: 0-31 점수, 32-39 최선 수, 40-47 깊이, 48-49 경계, 50-57 세대, 63 유효
+    private final long[] table;
+    private final long bucketMask;
+    private volatile int generation;
+
+    /**
+     * @param sizeMb 사용할 메모리 (MB 단위, 최소 1)
+     */
+    public TranspositionTable(int sizeMb) {
+        long bytes = Math.max(1, sizeMb) * 1024L * 1024L;
+        long buckets = Long.highestOneBit(bytes / (8L * LONGS_PER_SLOT * SLOTS_PER_BUCKET));
+        buckets = Math.min(buckets, MAX_BUCKETS);
+        table = new long[(int) (buckets * LONGS_PER_SLOT * SLOTS_PER_BUCKET)];
+        bucketMask = buckets - 1;
+    }
+
+    /**
+     * (둘 차례 돌, 상대 돌) 비트보드로부터 64비트 키 계산
+     */
+    public static long key(long player, long opponent) {
+        long h = player * 0x9E3779B97F4A7C15L ^ Long.rotateLeft(opponent * 0xC2B2AE3D27D4EB4FL, 31);
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    /**
+     * 새 탐색 시작 시 호출 (이전 탐색의 항목을 교체 우선 대상으로 만듦)
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * @return 저장된 data, 없으면 0
+     */
+    public long probe(long key) {
+        int base = (int) (key & bucketMask) * SLOTS_PER_BUCKET * LONGS_PER_SLOT;
+        for (int i = base; i < base + SLOTS_PER_BUCKET * LONGS_PER_SLOT; i += LONGS_PER_SLOT) {
+            long data = table[i + 1];
+            if ((table[i] ^ data) == key && (data & VALID) != 0) {
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    public void store(long key, int depth, int bound, int score, int move) {
+        int base = (int) (key & bucketMask) * SLOTS_PER_BUCKET * LONGS_PER_SLOT;
+        int age = generation;
+        int victim = -1;
+        int victimPriority = Integer.MAX_VALUE;
+        for (int i = base; i < base + SLOTS_PER_BUCKET * LONGS_PER_SLOT; i += LONGS_PER_SLOT) {
+            long data = table[i + 1];
+            if ((table[i] ^ data) == key) {
+                // 같은 국면: 더 얕은 결과로 덮어쓰지 않되, 최선 수는 유지
+                if (depth < depth(data) && age(data) == age) return;
+                if (move == NO_MOVE) move = move(data);
+                victim = i;
+                break;
+            }
+            // 다른 세대의 항목을 우선 교체하고, 같은 세대라면 얕은 항목을 교체
+            int priority = (data & VALID) == 0 ? -1 : (age(data) == age ? 256 : 0) + depth(data);
+            if (priority < victimPriority) {
+                victimPriority = priority;
+                victim = i;
+            }
+        }
+        long data = VALID
+                | ((long) age << 50)
+                | ((long) bound << 48)
+                | ((long) depth << 40)
+                | ((long) (move & 0xFF) << 32)
+                | (score & 0xFFFFFFFFL);
+        table[victim] = key ^ data;
+        table[victim + 1] = data;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    public int getSizeMb() {
+        return (int) (table.length * 8L / (1024 * 1024));
+    }
+
+    public static int score(long data) { return (int) data; }
+    public static int move(long data) { return (int) (data >>> 32) & 0xFF; }
+    public static int depth(long data) { return (int) (data >>> 40) & 0xFF; }
+    public static int bound(long data) { return (int) (data >>> 48) & 0x3; }
+    private static int age(long data) { return (int) (data >>> 50) & 0xFF; }
+}
@@ -0,0 +1,106 @@
+package org.example.service.gemini;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * 국면 해시별 Gemini 응답(파싱된 수) 캐시
+ * - LRU: 최대 개수를 넘으면 가장 오래 사용하지 않은 항목부터 제거
+ * - TTL: 저장 후 일정 시간이 지난 항목은 무효
+ * - single-flight: 같은 국면을 동시에 요청하면 첫 요청만 API를 호출하고 나머지는 그 결과를 기다림
+ * 수를 찾지 못한 결과(null)와 예외는 캐시하지 않습니다.
+ */
+public class GeminiMoveCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Long, long[]> entries; // 해시 -> {칸 번호, 저장 시각(nanoTime)}
+    private final ConcurrentHashMap<Long, CompletableFuture<Integer>> inFlight = new ConcurrentHashMap<>();
+
+    private long hits;
+    private long misses;
+
+    public GeminiMoveCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                return size() > GeminiMoveCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 수를 반환하거나, 없으면 loader 로 계산하여 저장 (진행 로그는 표준 출력)
+     */
+    public Integer getOrLoad(long key, Callable<Integer> loader) throws Exception {
+        return getOrLoad(key, loader, System.out::println);
+    }
+
+    /**
+     * 캐시된 수를 반환하거나, 없으면 loader 로 계산하여 저장
+     * @param key 국면 해시
+     * @param loader 실제 API 호출 및 파싱 (수를 찾지 못하면 null)
+     * @param log 진행 로그 출력 (캐시는 여러 AIPlayer가 공유하므로 호출한 쪽의 로그 설정을 따름)
+     * @return 칸 번호 또는 null
+     * @throws Exception loader 에서 발생한 예외 (같은 요청을 기다리던 호출에도 그대로 전달)
+     */
+    public Integer getOrLoad(long key, Callable<Integer> loader, Consumer<String> log) throws Exception {
+        Integer cached = get(key);
+        if (cached != null) return cached;
+
+        CompletableFuture<Integer> flight = new CompletableFuture<>();
+        CompletableFuture<Integer> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            log.accept("[AI] 같은 국면의 Gemini 요청이 진행 중이므로 결과를 기다립니다.");
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+
+        try {
+            Integer square = loader.call();
+            if (square != null) {
+                put(key, square);
+            }
+            flight.complete(square);
+            return square;
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public synchronized Integer get(long key) {
+        long[] entry = entries.get(key);
+        if (entry == null || System.nanoTime() - entry[1] > ttlNanos) {
+            if (entry != null) entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return (int) entry[0];
+    }
+
+    public synchronized void put(long key, int square) {
+        entries.put(key, new long[]{square, System.nanoTime()});
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+}
@@ -0,0 +1,24 @@
+package org.example.service.gemini;
+
+import java.util.function.Consumer;
+
+/**
+ * Gemini 텍스트 생성 호출 방식
+ * 기본 구현은 HttpGeminiTransport 이며, 테스트에서는 로컬 스텁 서버 주소를 넣거나 직접 구현한 객체를 AIPlayer에 주입할 수 있습니다.
+ */
+public interface GeminiTransport {
+
+    /**
+     * 프롬프트를 보내고 첫 번째 후보의 텍스트를 반환
+     * @throws Exception 네트워크 오류, HTTP 오류 응답, 응답 형식 오류
+     */
+    String generateContent(String prompt) throws Exception;
+
+    /**
+     * 진행 로그를 log 로 출력하며 호출 (기본 구현은 로그 없이 generateContent(prompt) 호출)
+     * @param log 진행 로그 출력 (호출한 AIPlayer 의 quiet 설정을 따름)
+     */
+    default String generateContent(String prompt, Consumer<String> log) throws Exception {
+        return generateContent(prompt);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.service.gemini;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * java.net.http.HttpClient 기반 Gemini generateContent 호출
+ * 하나의 HttpClient를 재사용하므로 연속된 호출은 기존 연결(keep-alive / HTTP/2)을 그대로 사용합니다.
+ * 기본 URL을 바꾸면 로컬 스텁 서버(예: http://127.0.0.1:8089/v1beta/models/)로도 호출할 수 있습니다.
+ */
+public class HttpGeminiTransport implements GeminiTransport {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String modelName;
+    private final String apiKey;
+    private final Duration requestTimeout;
+
+    /**
+     * @param baseUrl 모델 이름 앞까지의 URL (끝의 / 포함)
+     * @param modelName 모델 이름 (예: gemini-2.0-flash)
+     * @param apiKey API 키
+     */
+    public HttpGeminiTransport(String baseUrl, String modelName, String apiKey,
+                               Duration connectTimeout, Duration requestTimeout) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.modelName = modelName;
+        this.apiKey = apiKey;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public String generateContent(String prompt) throws Exception {
+        return generateContent(prompt, System.out::println);
+    }
+
+    /**
+     * @param log 진행 로그 출력 (오류 응답은 log 와 관계없이 System.err 로 출력)
+     */
+    @Override
+    public String generateContent(String prompt, Consumer<String> log) throws Exception {
+        String url = baseUrl + modelName + ":generateContent?key=" + (apiKey == null ? "" : apiKey);
+        log.accept("[AI] API URL: " + baseUrl + modelName + ":generateContent?key="
+                + (apiKey != null && apiKey.length() > 10 ? apiKey.substring(0, 10) + "..." : "INVALID"));
+
+        // JSON 문자열 이스케이프는 JSONObject가 처리
+        JSONObject body = new JSONObject()
+                .put("contents", new JSONArray()
+                        .put(new JSONObject().put("parts", new JSONArray()
+                                .put(new JSONObject().put("text", prompt)))));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                .build();
+
+        log.accept("[AI] 요청 전송 중... (프롬프트 길이: " + prompt.length() + "자)");
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        int responseCode = response.statusCode();
+        String responseStr = response.body();
+        log.accept("[AI] HTTP 응답 코드: " + responseCode);
+
+        if (responseCode != 200) {
+            System.err.println("[AI] API 에러 응답:");
+            System.err.println("  - HTTP 코드: " + responseCode);
+            System.err.println("  - 응답 내용: " + responseStr);
+            throw new RuntimeException(describeError(responseCode, responseStr));
+        }
+
+        log.accept("[AI] 응답 본문 길이: " + responseStr.length() + "자");
+        JSONObject jsonResponse = new JSONObject(responseStr);
+
+        // 응답 구조 확인 및 안전하게 파싱
+        if (!jsonResponse.has("candidates")) {
+            throw new RuntimeException("API 응답에 'candidates' 필드가 없습니다: " + responseStr);
+        }
+        if (jsonResponse.getJSONArray("candidates").length() == 0) {
+            throw new RuntimeException("API 응답에 후보가 없습니다: " + responseStr);
+        }
+
+        JSONObject candidate = jsonResponse.getJSONArray("candidates").getJSONObject(0);
+
+        // safetyRatings 확인 (차단되었는지 확인)
+        if (candidate.has("finishReason") && !candidate.getString("finishReason").equals("STOP")) {
+            String reason = candidate.getString("finishReason");
+            throw new RuntimeException("API 응답이 차단되었습니다. 이유: " + reason);
+        }
+
+        JSONArray parts = candidate.getJSONObject("content").getJSONArray("parts");
+        if (parts.length() == 0) {
+            throw new RuntimeException("API 응답에 'parts'가 없습니다: " + responseStr);
+        }
+
+        String text = parts.getJSONObject(0).getString("text");
+        log.accept("[AI] 추출된 텍스트: " + (text.length() > 200 ? text.substring(0, 200) + "..." : text));
+        return text;
+    }
+
+    /**
+     * 에러 응답 본문에서 Gemini 오류 메시지 추출 (JSON이 아니면 원문 사용)
+     */
+    private static String describeError(int responseCode, String errorMsg) {
+        try {
+            JSONObject errorJson = new JSONObject(errorMsg);
+            if (errorJson.has("error")) {
+                JSONObject error = errorJson.getJSONObject("error");
+                String message = error.has("message") ? error.getString("message") : "알 수 없는 오류";
+                String status = error.has("status") ? error.getString("status") : "UNKNOWN";
+                return "Gemini API 오류 [" + status + "]: " + message;
+            }
+        } catch (Exception e) {
+            // JSON 파싱 실패 시 원본 메시지 사용
+        }
+        return "HTTP Error " + responseCode + ": " + errorMsg;
+    }
+}
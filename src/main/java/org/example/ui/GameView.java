@@ -25,8 +25,9 @@ import org.example.service.DatabaseService;
 import org.example.service.SoundService;
 import org.example.service.EffectService;
 
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 게임 화면 UI 및 게임 로직을 담당하는 클래스
@@ -71,6 +72,9 @@ public class GameView {
     private boolean[] cardUsed = new boolean[3]; // 카드 사용 여부
     private org.example.minigame.base.MinigameBase activeMinigame;
     private int minigameOwnerColor = 0;
+    private boolean aiThinking = false; // AI 수 계산 중 여부 (무르기 방지)
+    private CompletableFuture<int[]> pendingAIMove; // 진행 중인 AI 수 계산 (메뉴 이동 시 취소)
+    private static final long AI_MIN_THINKING_MILLIS = 700; // AI가 생각하는 것처럼 보이도록 최소 대기
 
     static {
         try {
@@ -105,7 +109,11 @@ public class GameView {
     }
 
     public void setOnBackToMenu(Runnable callback) {
-        this.onBackToMenu = callback;
+        // 메뉴로 나갈 때 진행 중인 AI 계산을 취소 (이후 게임에 수가 적용되지 않도록)
+        this.onBackToMenu = callback == null ? null : () -> {
+            cancelPendingAIMove();
+            callback.run();
+        };
     }
 
     public void setCurrentUser(User user) {
@@ -145,6 +153,7 @@ public class GameView {
      * 게임 화면을 표시합니다
      */
     public void show(GameModel.Mode mode) {
+        cancelPendingAIMove();
         gameModel.setGameMode(mode);
         gameModel.initializeBoard();
 
@@ -158,6 +167,14 @@ public class GameView {
             if (onBackToMenu != null) onBackToMenu.run();
         });
 
+        // 무르기 버튼 (온라인 대전에서는 사용 불가)
+        Button undoButton = null;
+        if (mode != GameModel.Mode.ONLINE) {
+            undoButton = new Button("↶ 무르기");
+            undoButton.getStyleClass().add("back-to-menu-button");
+            undoButton.setOnAction(e -> handleUndo());
+        }
+
         // 상단 패널 (모드 정보 및 현재 턴)
         Label modeLabel = new Label();
         String modeText = switch(mode) {
@@ -189,21 +206,24 @@ public class GameView {
         
         // 로컬/온라인 모드: 찬스카드를 오른쪽에 배치
         if (mode == GameModel.Mode.LOCAL || mode == GameModel.Mode.ONLINE) {
-            VBox rightPanel = createRightPanel(backButton);
+            VBox rightPanel = createRightPanel(undoButton, backButton);
             mainLayout.setRight(rightPanel);
             resetChanceCards();
         } else {
             // AI 모드: 버튼만 하단에 표시
-            HBox bottomPanel = new HBox();
+            HBox bottomPanel = new HBox(12);
             bottomPanel.setPadding(new Insets(15));
             bottomPanel.setAlignment(Pos.CENTER);
-            bottomPanel.getChildren().add(backButton);
+            bottomPanel.getChildren().addAll(undoButton, backButton);
             mainLayout.setBottom(bottomPanel);
         }
 
         // AI 모드 선공일 경우 바로 AI 턴 시작
         if (mode == GameModel.Mode.AI && gameModel.getCurrentTurn() == gameModel.getAIColor()) {
             Platform.runLater(this::handleAITurn);
+        } else {
+            // 난이도 설정이 반영된 뒤 예측 탐색 시작
+            Platform.runLater(this::startPonderingIfHumanTurn);
         }
 
         drawBoard();
@@ -455,32 +475,100 @@ public class GameView {
     private void handleAITurn() {
         if (gameModel.getCurrentTurn() != gameModel.getAIColor()) return;
 
-        // AI가 수를 계산하는 동안 UI 멈춤 방지를 위해 쓰레드 사용
-        new Thread(() -> {
-            try {
-                // 약간의 딜레이 추가 (AI가 생각하는 것처럼 보이게)
-                Thread.sleep(700);
-                
-                // AI에게 현재 보드 상태를 넘기고 최적의 수를 요청 (난이도 포함)
-                int[] move = aiPlayer.getBestMove(gameModel.getAIDifficulty());
-
-                // UI 업데이트는 Platform.runLater로 메인 스레드에서 실행
-                Platform.runLater(() -> {
-                    if (move != null) {
-                        gameModel.placePieceAndFlip(move[0], move[1]);
-                        updateGameViewAfterMove();
-                    } else {
-                        // AI도 둘 곳이 없는 경우 (패스)
-                        gameModel.switchTurn();
-                        checkPassConditions();
-                        updateGameViewAfterMove();
-                        showAlert("AI Pass", "AI도 둘 곳이 없어 당신에게 턴이 돌아왔습니다.");
-                    }
-                });
-            } catch (Exception e) {
-                Platform.runLater(() -> showAlert("AI Error", "AI 계산 중 오류 발생: " + e.getMessage()));
-            }
-        }).start();
+        cancelPendingAIMove();
+        aiThinking = true;
+        // 현재 국면 스냅샷을 넘겨 AI 스레드 풀에서 비동기로 계산 (UI 스레드는 막지 않음)
+        long start = System.currentTimeMillis();
+        CompletableFuture<int[]> request = aiPlayer.requestMove(gameModel.getPosition(), gameModel.getAIDifficulty(),
+                start + org.example.service.ConfigService.getAiMoveDeadlineMillis());
+        pendingAIMove = request;
+        request.whenComplete((move, error) -> {
+            // 최소 대기 시간을 채운 뒤 UI 스레드에서 적용
+            long remaining = Math.max(0L, AI_MIN_THINKING_MILLIS - (System.currentTimeMillis() - start));
+            CompletableFuture.delayedExecutor(remaining, TimeUnit.MILLISECONDS, Platform::runLater)
+                    .execute(() -> applyAIMove(request, move, error));
+        });
+    }
+
+    /**
+     * AI 계산 결과 적용 (취소되었거나 새 요청으로 대체된 결과는 무시)
+     */
+    private void applyAIMove(CompletableFuture<int[]> request, int[] move, Throwable error) {
+        if (request != pendingAIMove || request.isCancelled()) return;
+        pendingAIMove = null;
+        aiThinking = false;
+
+        if (error != null) {
+            showAlert("AI Error", "AI 계산 중 오류 발생: " + error.getMessage());
+            return;
+        }
+        if (move != null) {
+            gameModel.placePieceAndFlip(move[0], move[1]);
+            updateGameViewAfterMove();
+        } else {
+            // AI도 둘 곳이 없는 경우 (패스)
+            gameModel.switchTurn();
+            checkPassConditions();
+            updateGameViewAfterMove();
+            showAlert("AI Pass", "AI도 둘 곳이 없어 당신에게 턴이 돌아왔습니다.");
+        }
+        startPonderingIfHumanTurn();
+    }
+
+    /**
+     * 사람 차례가 되면 AI가 예상 응수를 미리 탐색 (난이도별 설정에 따름)
+     */
+    private void startPonderingIfHumanTurn() {
+        if (gameModel.isAIMode() && !gameModel.isGameOver() && gameModel.getCurrentTurn() != gameModel.getAIColor()) {
+            aiPlayer.startPondering(gameModel.getPosition(), gameModel.getAIDifficulty());
+        }
+    }
+
+    /**
+     * 진행 중인 AI 계산을 취소 (탐색 즉시 중단, 결과는 적용되지 않음)
+     */
+    private void cancelPendingAIMove() {
+        if (pendingAIMove != null) {
+            pendingAIMove.cancel(false);
+            pendingAIMove = null;
+        }
+        aiThinking = false;
+        aiPlayer.stopPondering();
+    }
+
+    /**
+     * 무르기: 마지막 수를 되돌림 (AI 모드에서는 다시 내 차례가 될 때까지 되돌림)
+     */
+    private void handleUndo() {
+        if (aiThinking) {
+            showAlert("Wait", "AI가 수를 계산 중입니다. 잠시 후 다시 시도하세요.");
+            return;
+        }
+        if (gameModel.isGameOver()) {
+            // 결과와 전적이 이미 저장되었으므로 끝난 게임은 되돌리지 않음
+            showAlert("Undo", "게임이 끝나 되돌릴 수 없습니다.");
+            return;
+        }
+        if (!gameModel.canUndo()) {
+            showAlert("Undo", "되돌릴 수가 없습니다.");
+            return;
+        }
+
+        gameModel.unmakeMove();
+        while (gameModel.isAIMode() && gameModel.getCurrentTurn() == gameModel.getAIColor() && gameModel.canUndo()) {
+            gameModel.unmakeMove();
+        }
+
+        drawBoard();
+        drawValidMoves();
+        updateScoreDisplay();
+
+        // AI 선공에서 첫 수까지 되돌린 경우 AI가 다시 둠
+        if (gameModel.isAIMode() && gameModel.getCurrentTurn() == gameModel.getAIColor()) {
+            Platform.runLater(this::handleAITurn);
+        } else {
+            startPonderingIfHumanTurn();
+        }
     }
 
     private void updateGameViewAfterMove() {
@@ -513,11 +601,25 @@ public class GameView {
                 updateGameViewAfterMove();
                 showAlert("Your Turn", "상대방이 수를 두었습니다. 이제 당신 차례입니다.");
             } else {
-                showAlert("Sync Error", "상대방의 수 처리 중 오류 발생.");
+                // 보드가 서버와 어긋남: 서버 보드를 받아 맞춤 (applyServerBoard)
+                System.out.println("Opponent move (" + x + ", " + y + ") could not be applied. Requesting server board.");
+                networkClient.requestSync();
             }
         });
     }
 
+    /**
+     * 서버 기준 보드로 맞춤 (서버가 수를 받아들이지 않았거나 미니게임으로 보드가 바뀐 뒤)
+     */
+    public void applyServerBoard(long black, long white, int turn) {
+        Platform.runLater(() -> {
+            gameModel.setPosition(black, white, turn);
+            drawBoard();
+            drawValidMoves();
+            updateScoreDisplay();
+        });
+    }
+
     public void setPlayerColor(String color) {
         Platform.runLater(() -> {
             gameModel.initializeBoard();
@@ -552,12 +654,15 @@ public class GameView {
     // --- 게임 상태 체크 ---
 
     private void checkPassConditions() {
-        if (gameModel.getValidMoves().isEmpty()) {
+        if (!gameModel.hasValidMove()) {
             showAlert("Pass", gameModel.getCurrentPlayerName() + " (현재 턴)은 둘 곳이 없어 패스합니다.");
             gameModel.switchTurn();
 
-            if (gameModel.getValidMoves().isEmpty()) {
+            if (!gameModel.hasValidMove()) {
                 gameModel.setGameOver(true);
+                if (gameModel.isAIMode()) {
+                    aiPlayer.stopPondering();
+                }
                 
                 // 게임 결과 저장
                 saveGameResult();
@@ -608,10 +713,10 @@ public class GameView {
         }
 
         if (!gameModel.isGameOver()) {
-            List<int[]> validMoves = gameModel.getValidMoves();
-            for (int[] pos : validMoves) {
-                int x = pos[0];
-                int y = pos[1];
+            for (long moves = gameModel.getValidMoveMask(); moves != 0; moves &= moves - 1) {
+                int square = Long.numberOfTrailingZeros(moves);
+                int x = square % WIDTH;
+                int y = square / WIDTH;
                 StackPane stackPane = (StackPane) boardView.getChildren().get(y * WIDTH + x);
 
                 Circle hint = new Circle(TILE_SIZE * 0.15);
@@ -636,6 +741,10 @@ public class GameView {
             scoreLabel.getStyleClass().add("score-label-game-over");
             // 게임 종료 사운드 재생
             soundService.playGameOverSound();
+            // 온라인 대전이면 서버에 게임 종료를 알려 방을 정리
+            if (gameModel.isOnlineMode() && networkClient != null) {
+                networkClient.sendGameOver();
+            }
         } else {
             scoreLabel.setText(String.format("⚫ 흑: %d  ⚪ 백: %d  |  현재 턴: %s", black, white, turn));
             scoreLabel.setFont(orbitronFont);
@@ -784,7 +893,7 @@ public class GameView {
     /**
      * 오른쪽 사이드바 패널 생성 (카드 + 버튼)
      */
-    private VBox createRightPanel(Button backButton) {
+    private VBox createRightPanel(Button undoButton, Button backButton) {
         VBox rightPanel = new VBox(8);
         rightPanel.setPadding(new Insets(8, 10, 8, 10));
         rightPanel.setAlignment(Pos.CENTER);
@@ -819,9 +928,12 @@ public class GameView {
             memoryCard, 
             reactionCard, 
             dodgeCard,
-            spacer,
-            backButton
+            spacer
         );
+        if (undoButton != null) {
+            rightPanel.getChildren().add(undoButton);
+        }
+        rightPanel.getChildren().add(backButton);
         
         return rightPanel;
     }
@@ -1095,11 +1207,10 @@ public class GameView {
         activeMinigame = minigame;
         if (minigame instanceof org.example.minigame.games.memory.MemoryGame memoryGame &&
             gameModel.getGameMode() == GameModel.Mode.ONLINE && networkClient != null) {
-            memoryGame.setUpdatePublisher(state ->
-                networkClient.sendMinigameUpdate(
-                    org.example.minigame.network.MinigameProtocol.createUpdateMessage(state)
-                )
-            );
+            org.example.minigame.network.MinigameStateStreamer streamer =
+                new org.example.minigame.network.MinigameStateStreamer(
+                    memoryGame, networkClient, org.example.service.ConfigService.getMinigameUpdateRate());
+            memoryGame.setStateListener(streamer::markDirty);
         }
 
         minigame.startPlayerMode(primaryStage, result -> {
@@ -1186,6 +1297,12 @@ public class GameView {
         }
     }
 
+    public void onMinigameState(byte[] state) {
+        if (activeMinigame != null) {
+            Platform.runLater(() -> activeMinigame.updateFromBytes(state));
+        }
+    }
+
     public void handleMinigameResultFromNetwork(boolean success, int score, long time, int forcedX, int forcedY) {
         Platform.runLater(() -> {
             if (activeMinigame != null) {
@@ -1207,6 +1324,17 @@ public class GameView {
         });
     }
 
+    /**
+     * 서버가 방을 닫았을 때 (상대 연결 종료 또는 장시간 입력 없음)
+     */
+    public void handleRoomClosed(String reason) {
+        if ("LEFT".equals(reason)) {
+            showAlert("Game Over", "상대방의 연결이 끊어져 게임이 종료되었습니다.");
+        } else if ("IDLE".equals(reason)) {
+            showAlert("Game Over", "오랫동안 입력이 없어 게임이 종료되었습니다.");
+        }
+    }
+
     public void handleRandomMove() {
         Platform.runLater(() -> {
             int moveColor = gameModel.getCurrentTurn();
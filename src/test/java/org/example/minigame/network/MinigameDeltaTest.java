@@ -0,0 +1,66 @@
+package org.example.minigame.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * diff 로 만든 델타를 이전 상태에 apply 하면 현재 상태가 되는지, 잘못된 델타는 상태를 바꾸지 않는지 확인
+ */
+class MinigameDeltaTest {
+
+    @Test
+    void applyingDiffReproducesCurrentState() {
+        Random random = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            byte[] previous = new byte[1 + random.nextInt(64)];
+            random.nextBytes(previous);
+            byte[] current = previous.clone();
+            int changes = random.nextInt(current.length + 1);
+            for (int i = 0; i < changes; i++) {
+                current[random.nextInt(current.length)] = (byte) random.nextInt(256);
+            }
+
+            byte[] delta = MinigameDelta.diff(previous, current);
+            byte[] state = previous.clone();
+            assertTrue(MinigameDelta.apply(state, ByteBuffer.wrap(delta)));
+            assertArrayEquals(current, state);
+            assertEquals(Arrays.equals(previous, current), MinigameDelta.isEmpty(delta));
+        }
+    }
+
+    @Test
+    void applyReadsFromBufferPositionWithoutMovingIt() {
+        byte[] previous = {0, 1, 2, 3};
+        byte[] current = {0, 9, 2, 7};
+        byte[] delta = MinigameDelta.diff(previous, current);
+        assertEquals(MinigameDelta.HEADER_BYTES + 2 * 3, delta.length);
+
+        ByteBuffer frame = ByteBuffer.allocate(2 + delta.length);
+        frame.put((byte) 0x21).put((byte) 2).put(delta).position(2);
+        assertTrue(MinigameDelta.apply(previous, frame));
+        assertArrayEquals(current, previous);
+        assertEquals(2, frame.position());
+    }
+
+    @Test
+    void rejectsMismatchedLengthsAndMalformedDeltas() {
+        assertNull(MinigameDelta.diff(new byte[3], new byte[4]));
+        assertNull(MinigameDelta.diff(null, new byte[4]));
+
+        byte[] state = {1, 2, 3};
+        byte[] delta = MinigameDelta.diff(new byte[3], new byte[] {1, 5, 3});
+        assertFalse(MinigameDelta.apply(new byte[4], ByteBuffer.wrap(delta)));
+        assertFalse(MinigameDelta.apply(state, ByteBuffer.wrap(delta, 0, delta.length - 1)));
+        assertFalse(MinigameDelta.apply(state, ByteBuffer.wrap(new byte[] {0, 3, 0, 3, 9})));
+        assertArrayEquals(new byte[] {1, 2, 3}, state);
+    }
+}
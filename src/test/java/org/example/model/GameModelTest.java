@@ -0,0 +1,122 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 규칙 엔진 검증: 비트보드와 GameModel.makeMove/unmakeMove 의 perft, 무르기 후 해시와 돌 수 복원
+ * perft 는 패스도 한 수로 세며 두 플레이어 모두 둘 곳이 없으면 리프로 봅니다 (src/jmh 의 Perft 와 같은 규칙).
+ */
+class GameModelTest {
+
+    // 알려진 오셀로 perft 값 (인덱스 = 깊이)
+    private static final long[] KNOWN = {1L, 4L, 12L, 56L, 244L, 1396L, 8200L};
+
+    @Test
+    void bitboardPerftMatchesKnownCounts() {
+        for (int depth = 1; depth < KNOWN.length; depth++) {
+            assertEquals(KNOWN[depth], perft(Bitboard.INITIAL_BLACK, Bitboard.INITIAL_WHITE, depth, false),
+                    "perft(" + depth + ")");
+        }
+    }
+
+    @Test
+    void gameModelPerftMatchesKnownCounts() {
+        GameModel model = new GameModel();
+        long hash = model.getHash();
+        for (int depth = 1; depth < KNOWN.length; depth++) {
+            assertEquals(KNOWN[depth], perft(model, depth), "perft(" + depth + ")");
+        }
+        assertEquals(hash, model.getHash());
+        assertFalse(model.canUndo());
+    }
+
+    @Test
+    void unmakeMoveRestoresHashAndDiscCounts() {
+        Random random = new Random(12345);
+        for (int game = 0; game < 20; game++) {
+            GameModel model = new GameModel();
+            long[] black = new long[128];
+            long[] white = new long[128];
+            long[] hashes = new long[128];
+            int[] blackCounts = new int[128];
+            int[] whiteCounts = new int[128];
+            int[] turns = new int[128];
+            int[] squares = new int[64];
+
+            int plies = 0;
+            while (true) {
+                black[plies] = model.getBlackBits();
+                white[plies] = model.getWhiteBits();
+                hashes[plies] = model.getHash();
+                blackCounts[plies] = model.getScore(1);
+                whiteCounts[plies] = model.getScore(2);
+                turns[plies] = model.getCurrentTurn();
+                assertEquals(Zobrist.hash(black[plies], white[plies], turns[plies]), hashes[plies]);
+                assertEquals(Long.bitCount(black[plies]), blackCounts[plies]);
+                assertEquals(Long.bitCount(white[plies]), whiteCounts[plies]);
+
+                int count = model.getValidMoves(squares);
+                if (count == 0) {
+                    if (model.getConsecutivePasses() > 0) break;
+                    assertTrue(model.makeMove(GameModel.PASS));
+                } else {
+                    assertTrue(model.makeMove(squares[random.nextInt(count)]));
+                }
+                plies++;
+            }
+
+            assertEquals(plies, model.getMoveCount());
+            for (int i = plies - 1; i >= 0; i--) {
+                assertTrue(model.unmakeMove());
+                assertEquals(black[i], model.getBlackBits());
+                assertEquals(white[i], model.getWhiteBits());
+                assertEquals(hashes[i], model.getHash());
+                assertEquals(blackCounts[i], model.getScore(1));
+                assertEquals(whiteCounts[i], model.getScore(2));
+                assertEquals(turns[i], model.getCurrentTurn());
+            }
+            assertFalse(model.unmakeMove());
+        }
+    }
+
+    private static long perft(long player, long opponent, int depth, boolean passed) {
+        if (depth == 0) return 1;
+        long moves = Bitboard.moves(player, opponent);
+        if (moves == 0L) {
+            if (passed) return 1; // 양쪽 모두 패스: 종국
+            return perft(opponent, player, depth - 1, true);
+        }
+        long nodes = 0;
+        for (long m = moves; m != 0; m &= m - 1) {
+            int sq = Long.numberOfTrailingZeros(m);
+            long flips = Bitboard.flips(player, opponent, sq);
+            nodes += perft(opponent & ~flips, player | flips | (1L << sq), depth - 1, false);
+        }
+        return nodes;
+    }
+
+    private static long perft(GameModel model, int depth) {
+        if (depth == 0) return 1;
+        long moves = model.getValidMoveMask();
+        if (moves == 0L) {
+            if (model.getConsecutivePasses() > 0) return 1;
+            model.makeMove(GameModel.PASS);
+            long nodes = perft(model, depth - 1);
+            model.unmakeMove();
+            return nodes;
+        }
+        long nodes = 0;
+        for (long m = moves; m != 0; m &= m - 1) {
+            model.makeMove(Long.numberOfTrailingZeros(m));
+            nodes += perft(model, depth - 1);
+            model.unmakeMove();
+        }
+        return nodes;
+    }
+}
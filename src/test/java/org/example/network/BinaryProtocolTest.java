@@ -0,0 +1,68 @@
+package org.example.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 텍스트 메시지 → 프레임 → 텍스트 메시지 변환이 원래 줄을 그대로 돌려주는지 확인
+ */
+class BinaryProtocolTest {
+
+    private static final String[] MESSAGES = {
+        "MOVE 3 2",
+        "MOVE 7 7 513",
+        "SYNC 42 810000000 1008000000 2",
+        "SYNC 0 ffffffff00000000 ffffffff 1",
+        "SYNC_REQUEST",
+        "RANDOM_MOVE",
+        "RANDOM_MOVE_EXECUTED",
+        "START_BLACK 상대",
+        "START_WHITE player2",
+        "GAME_OVER",
+        "ROOM_CLOSED IDLE",
+        "MINIGAME_START MEMORY",
+        "MINIGAME_UPDATE {\"score\":3,\"flipped\":[1,4]}",
+        "MINIGAME_RESULT SUCCESS 120 3400 2 5",
+        "MINIGAME_RESULT FAIL 0 5000 -1 -1",
+        "MINIGAME_CLOSE",
+    };
+
+    @Test
+    void encodeThenDecodeReturnsSameMessage() {
+        for (String message : MESSAGES) {
+            ByteBuffer frame = BinaryProtocol.encode(message);
+            assertEquals(frame.limit() - BinaryProtocol.HEADER_BYTES, frame.getShort(0) & 0xFFFF, message);
+
+            frame.position(BinaryProtocol.HEADER_BYTES);
+            assertEquals(message, BinaryProtocol.decode(frame));
+            assertEquals(BinaryProtocol.HEADER_BYTES, frame.position(), message); // decode 는 position 을 바꾸지 않음
+        }
+    }
+
+    @Test
+    void copiedFrameDecodesLikeOriginal() {
+        ByteBuffer frame = BinaryProtocol.sync(7, 0x0000000810000000L, 0x0000001008000000L, 1);
+        ByteBuffer body = frame.duplicate().position(BinaryProtocol.HEADER_BYTES);
+        ByteBuffer copy = BinaryProtocol.copy(body);
+
+        assertEquals(frame, copy);
+        assertEquals(BinaryProtocol.decode(body), BinaryProtocol.decode(copy.position(BinaryProtocol.HEADER_BYTES)));
+    }
+
+    @Test
+    void rejectsUnrepresentableOrShortMessages() {
+        assertNull(BinaryProtocol.encode("MOVE 8 0"));
+        assertNull(BinaryProtocol.encode("SYNC 1 xyz 0 1"));
+        assertNull(BinaryProtocol.encode("ROOM_CLOSED SOMETHING"));
+        assertNull(BinaryProtocol.encode("CHAT hello"));
+
+        assertNull(BinaryProtocol.decode(ByteBuffer.allocate(0)));
+        assertNull(BinaryProtocol.decode(ByteBuffer.wrap(new byte[] {BinaryProtocol.OP_MOVE})));
+        assertNull(BinaryProtocol.decode(ByteBuffer.wrap(new byte[] {BinaryProtocol.OP_SYNC, 0, 1})));
+        assertNull(BinaryProtocol.decode(ByteBuffer.wrap(new byte[] {BinaryProtocol.OP_MINIGAME_RESULT, 1, 0, 0})));
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.network;
+
+import org.example.model.Bitboard;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GameRoom 의 서버 규칙 검증: 수 순번과 SYNC, 찬스카드 제한, 강제 수 대체, 기존 클라이언트 처리
+ * 스텁 연결은 받은 메시지를 텍스트로 모아 두며, 바이너리 연결이면 받은 프레임을 BinaryProtocol.decode 로 바꿔 모읍니다.
+ */
+class GameRoomTest {
+
+    private static final String INITIAL_SYNC = "SYNC 0 " + Long.toHexString(Bitboard.INITIAL_BLACK)
+            + " " + Long.toHexString(Bitboard.INITIAL_WHITE) + " 1";
+
+    /**
+     * 받은 메시지를 기록하는 연결
+     */
+    private static final class StubConnection implements ClientConnection {
+        final List<String> received = new ArrayList<>();
+        private final String userId;
+        private final boolean binary;
+        private final boolean sync;
+        private GameRoom room;
+
+        StubConnection(String userId, boolean binary, boolean sync) {
+            this.userId = userId;
+            this.binary = binary;
+            this.sync = binary || sync;
+        }
+
+        @Override public void sendMessage(String message) { received.add(message); }
+        @Override public void sendFrame(ByteBuffer frame) {
+            received.add(BinaryProtocol.decode(frame.duplicate().position(BinaryProtocol.HEADER_BYTES)));
+        }
+        @Override public void enableBinary() {}
+        @Override public boolean isBinary() { return binary; }
+        @Override public void enableSync() {}
+        @Override public boolean acceptsSync() { return sync; }
+        @Override public void disconnect() {}
+        @Override public boolean isValid() { return true; }
+        @Override public String getUserId() { return userId; }
+        @Override public void setUserId(String userId) {}
+        @Override public GameRoom getRoom() { return room; }
+        @Override public void setRoom(GameRoom room) { this.room = room; }
+
+        String last() {
+            return received.get(received.size() - 1);
+        }
+    }
+
+    private final StubConnection black = new StubConnection("black", false, true);
+    private final StubConnection white = new StubConnection("white", true, true);
+    private final GameRoom room = new GameRoom(1, black, white);
+
+    @Test
+    void acceptedMoveIsRelayedWithSeq() {
+        assertFalse(room.playMove(black, 19)); // (3, 2)
+        assertEquals(List.of("MOVE 3 2 1"), white.received);
+
+        assertFalse(room.playMove(white, 18)); // (2, 2)
+        assertEquals(List.of("MOVE 2 2 2"), black.received);
+    }
+
+    @Test
+    void wrongTurnOrIllegalMoveReturnsSyncAndIsNotRelayed() {
+        room.playMove(white, 19);
+        assertEquals(List.of(INITIAL_SYNC), white.received);
+        assertTrue(black.received.isEmpty());
+
+        room.playMove(black, 0);
+        assertEquals(List.of(INITIAL_SYNC), black.received);
+        assertEquals(1, white.received.size());
+
+        room.playMove(black, -1);
+        assertEquals(2, black.received.size());
+        assertEquals(1, white.received.size());
+    }
+
+    @Test
+    void legacyClientRejectedMoveIsDroppedAndRoomStaysVerified() {
+        StubConnection legacy = new StubConnection("legacy", false, false);
+        StubConnection peer = new StubConnection("peer", true, true);
+        GameRoom legacyRoom = new GameRoom(2, peer, legacy);
+
+        legacyRoom.playMove(legacy, 0); // 백이 흑 차례에 둘 수 없는 곳에 둠
+        assertTrue(legacy.received.isEmpty());
+        assertTrue(peer.received.isEmpty());
+        assertFalse(legacyRoom.isGameOver());
+
+        legacyRoom.sync(peer);
+        assertEquals(List.of(INITIAL_SYNC), peer.received);
+
+        legacyRoom.playMove(peer, 19);
+        assertEquals(List.of("MOVE 3 2"), legacy.received); // 기존 클라이언트에게는 순번 없이 보냄
+    }
+
+    @Test
+    void minigameStartsOnlyOnOpponentTurnAndAtMostThreeTimes() {
+        assertFalse(room.startMinigame(black)); // 흑 차례에 흑은 찬스카드를 쓸 수 없음
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(room.startMinigame(white));
+            assertTrue(room.finishMinigame(white));
+            room.applyMinigameResult(white, false, -1); // 실패: 차례를 흑에게 돌려줌
+        }
+        assertFalse(room.startMinigame(white));
+    }
+
+    @Test
+    void successWithIllegalForcedSquareAppliesServerPickedMove() {
+        assertTrue(room.startMinigame(white));
+        assertTrue(room.finishMinigame(white));
+        room.applyMinigameResult(white, true, 0); // (0, 0) 은 흑이 둘 수 없는 곳
+
+        String[] sync = black.last().split(" ");
+        assertEquals(black.last(), white.last());
+        assertEquals("SYNC", sync[0]);
+        assertEquals("1", sync[1]);
+        long blackBits = Long.parseUnsignedLong(sync[2], 16);
+        long whiteBits = Long.parseUnsignedLong(sync[3], 16);
+        assertEquals(4, Long.bitCount(blackBits)); // 흑 돌 하나를 두고 하나를 뒤집음
+        assertEquals(1, Long.bitCount(whiteBits));
+        assertEquals(0L, blackBits & 1L);
+        assertEquals("2", sync[4]); // 차례는 찬스카드를 쓴 백에게
+
+        assertFalse(room.playMove(white, Long.numberOfTrailingZeros(Bitboard.moves(whiteBits, blackBits))));
+        assertEquals("2", black.last().split(" ")[3]); // 서버가 고른 수 다음 순번
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.service.ai;
+
+import org.example.model.Bitboard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EndgameSolver 의 정확성 검증: 무작위 종반 국면(빈칸 8~11, 10 이상은 치환표도 사용)에서 가지치기 없는 전체 minimax 와 점수를 비교
+ * 국면은 고정 시드로 초기 국면에서 무작위 수를 두어 만들며, 탐색 트리 안의 패스도 함께 확인합니다.
+ */
+class EndgameSolverTest {
+
+    private static final int POSITIONS = 40;
+
+    private long passes; // minimax 가 만난 패스 수 (한쪽만 둘 곳이 없는 국면)
+
+    @Test
+    void scoresMatchFullWidthMinimax() {
+        Random random = new Random(2024);
+        EndgameSolver solver = new EndgameSolver(); // 치환표를 국면 사이에 재사용해도 결과가 같아야 함
+        for (int i = 0; i < POSITIONS; i++) {
+            long[] position = randomPosition(random, 8 + i % 4);
+            long player = position[0];
+            long opponent = position[1];
+            String label = "position " + i + ": " + Long.toHexString(player) + " " + Long.toHexString(opponent);
+
+            // 첫 수마다 minimax 값 (최댓값이 국면의 점수)
+            int[] values = new int[64];
+            int expected = Integer.MIN_VALUE;
+            for (long m = Bitboard.moves(player, opponent); m != 0; m &= m - 1) {
+                int sq = Long.numberOfTrailingZeros(m);
+                long flips = Bitboard.flips(player, opponent, sq);
+                values[sq] = -minimax(opponent & ~flips, player | flips | (1L << sq), false);
+                expected = Math.max(expected, values[sq]);
+            }
+
+            int best = solver.findBestMove(player, opponent, 60_000);
+            assertNotEquals(EndgameSolver.NO_MOVE, best, label);
+            assertEquals(expected, solver.getBestScore(), label);
+            // 고른 수가 합법이고 실제로 그 점수를 내는지
+            assertTrue((Bitboard.moves(player, opponent) & (1L << best)) != 0L, label);
+            assertEquals(expected, values[best], label);
+        }
+        assertTrue(passes > 0, "no passes in the sampled trees");
+    }
+
+    @Test
+    void remainingEmptiesGoToWinner() {
+        // 둘 차례는 a1, 상대는 b1 하나: c1 에 두면 상대 돌이 없어져 게임이 끝나고 빈칸 61개가 모두 둘 차례 쪽 점수
+        EndgameSolver solver = new EndgameSolver();
+        assertEquals(2, solver.findBestMove(1L, 1L << 1, 1000));
+        assertEquals(64, solver.getBestScore());
+    }
+
+    @Test
+    void returnsNoMoveWhenSideToMoveMustPass() {
+        // 둘 차례는 b1 하나, 상대는 a1 하나: 둘 차례는 둘 곳이 없고 상대는 c1 에 둘 수 있음
+        long player = 1L << 1;
+        long opponent = 1L;
+        assertEquals(0L, Bitboard.moves(player, opponent));
+        assertNotEquals(0L, Bitboard.moves(opponent, player));
+        assertEquals(EndgameSolver.NO_MOVE, new EndgameSolver().findBestMove(player, opponent, 1000));
+    }
+
+    /**
+     * 가지치기와 정렬 없이 모든 수를 끝까지 탐색 (둘 차례인 쪽 관점의 최종 돌 차이, 빈칸은 승자에게)
+     */
+    private int minimax(long player, long opponent, boolean passed) {
+        long moves = Bitboard.moves(player, opponent);
+        if (moves == 0L) {
+            if (passed) {
+                int diff = Long.bitCount(player) - Long.bitCount(opponent);
+                int empties = Long.bitCount(~(player | opponent));
+                return diff > 0 ? diff + empties : diff < 0 ? diff - empties : 0;
+            }
+            if (Bitboard.moves(opponent, player) != 0L) passes++;
+            return -minimax(opponent, player, true);
+        }
+        int best = Integer.MIN_VALUE;
+        for (long m = moves; m != 0; m &= m - 1) {
+            int sq = Long.numberOfTrailingZeros(m);
+            long flips = Bitboard.flips(player, opponent, sq);
+            best = Math.max(best, -minimax(opponent & ~flips, player | flips | (1L << sq), false));
+        }
+        return best;
+    }
+
+    /**
+     * 초기 국면에서 무작위로 두어 빈칸이 empties 개이고 둘 차례인 쪽에 수가 있는 국면을 만듦
+     * @return {둘 차례 돌, 상대 돌}
+     */
+    private static long[] randomPosition(Random random, int empties) {
+        while (true) {
+            long player = Bitboard.INITIAL_BLACK;
+            long opponent = Bitboard.INITIAL_WHITE;
+            while (Long.bitCount(~(player | opponent)) > empties) {
+                long moves = Bitboard.moves(player, opponent);
+                if (moves == 0L) {
+                    if (Bitboard.moves(opponent, player) == 0L) break;
+                } else {
+                    for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) {
+                        moves &= moves - 1;
+                    }
+                    int sq = Long.numberOfTrailingZeros(moves);
+                    long flips = Bitboard.flips(player, opponent, sq);
+                    player |= flips | (1L << sq);
+                    opponent &= ~flips;
+                }
+                long t = player;
+                player = opponent;
+                opponent = t;
+            }
+            if (Long.bitCount(~(player | opponent)) == empties && Bitboard.moves(player, opponent) != 0L) {
+                return new long[] {player, opponent};
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.service.gemini;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 로컬 스텁 HTTP 서버에 HttpGeminiTransport 를 연결하여 GeminiMoveCache 의 LRU, TTL, 동시 요청 합치기를 확인
+ * 스텁은 요청 수를 세고 항상 "19" 를 답하며, release 가 열릴 때까지 응답을 미룰 수 있습니다.
+ */
+class GeminiMoveCacheTest {
+
+    private static final String RESPONSE =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"19\"}]},\"finishReason\":\"STOP\"}]}";
+
+    private HttpServer server;
+    private ExecutorService stubThreads;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private GeminiTransport transport;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stubThreads = Executors.newCachedThreadPool();
+        server.setExecutor(stubThreads);
+        server.start();
+
+        transport = new HttpGeminiTransport("http://127.0.0.1:" + server.getAddress().getPort() + "/v1beta/models/",
+                "stub-model", "test-key", Duration.ofSeconds(2), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        stubThreads.shutdownNow();
+    }
+
+    private Callable<Integer> loader() {
+        return () -> Integer.parseInt(transport.generateContent("prompt", message -> { }).trim());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() throws Exception {
+        GeminiMoveCache cache = new GeminiMoveCache(2, 60_000);
+        assertEquals(19, cache.getOrLoad(1L, loader()));
+        assertEquals(19, cache.getOrLoad(2L, loader()));
+        assertEquals(19, cache.get(1L)); // 1 을 최근 사용으로 만들어 2 가 가장 오래된 항목이 됨
+        assertEquals(19, cache.getOrLoad(3L, loader()));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(2L));
+        assertEquals(19, cache.get(1L));
+        assertEquals(19, cache.get(3L));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws Exception {
+        GeminiMoveCache cache = new GeminiMoveCache(16, 100);
+        assertEquals(19, cache.getOrLoad(7L, loader()));
+        assertEquals(19, cache.getOrLoad(7L, loader()));
+        assertEquals(1, requests.get());
+
+        Thread.sleep(250);
+        assertNull(cache.get(7L));
+        assertEquals(19, cache.getOrLoad(7L, loader()));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void coalescesConcurrentIdenticalRequests() throws Exception {
+        GeminiMoveCache cache = new GeminiMoveCache(16, 60_000);
+        int callers = 8;
+        release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(callers);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    started.countDown();
+                    return cache.getOrLoad(42L, loader(), message -> { });
+                }));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread.sleep(200); // 모든 호출이 진행 중인 요청을 기다리도록 응답을 잠시 미룸
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(19, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, requests.get());
+    }
+}